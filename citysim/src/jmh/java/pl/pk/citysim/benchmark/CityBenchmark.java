@@ -0,0 +1,46 @@
+package pl.pk.citysim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.pk.citysim.model.City;
+
+import java.util.concurrent.TimeUnit;
+
+// One simulated day at different city sizes; coverage is the share of families the buildings can serve
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CityBenchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    public int families;
+
+    @Param({"0.5", "1.0"})
+    public double coverage;
+
+    private City city;
+
+    // A fresh city per iteration keeps the population from drifting too far from the parameter
+    @Setup(Level.Iteration)
+    public void setUp() {
+        city = Fixtures.city(families, coverage);
+    }
+
+    @Benchmark
+    public City nextDay() {
+        city.nextDay();
+        return city;
+    }
+}
@@ -0,0 +1,74 @@
+package pl.pk.citysim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.pk.citysim.model.CommercialBuilding;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.model.ResidentialBuilding;
+import pl.pk.citysim.service.CityService;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Bulk building and the stats screen, through the service layer the console uses
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CityServiceBenchmark {
+    // Keeps the per-building INFO lines out of the measurement
+    private static final Logger APP_LOGGER = Logger.getLogger("pl.pk.citysim");
+
+    @Param({"10", "1000"})
+    public int buildCount;
+
+    private CityService buildService;
+    private CityService statsService;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        APP_LOGGER.setLevel(java.util.logging.Level.WARNING);
+        statsService = newService();
+        statsService.buildBuildings(ResidentialBuilding.class, buildCount);
+        statsService.buildBuildings(CommercialBuilding.class, buildCount);
+        for (int i = 0; i < 10; i++) {
+            statsService.cityTick();
+        }
+    }
+
+    // Building mutates the city, so every invocation starts from a fresh one
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        buildService = newService();
+    }
+
+    @Benchmark
+    public boolean buildBuildings() {
+        return buildService.buildBuildings(ResidentialBuilding.class, buildCount);
+    }
+
+    @Benchmark
+    public String getCityStats() {
+        return statsService.getCityStats();
+    }
+
+    private static CityService newService() {
+        Properties props = new Properties();
+        props.setProperty("seed", String.valueOf(Fixtures.SEED));
+        props.setProperty("initialBudget", String.valueOf(Integer.MAX_VALUE / 2));
+        return new CityService(new GameConfig(props));
+    }
+}
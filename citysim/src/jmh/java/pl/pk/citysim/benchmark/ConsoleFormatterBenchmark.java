@@ -0,0 +1,53 @@
+package pl.pk.citysim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.pk.citysim.ui.ConsoleFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleFormatterBenchmark {
+    private static final String[] HEADERS = {"Building", "Count", "Upkeep", "Capacity"};
+
+    @Param({"10", "1000"})
+    public int rowCount;
+
+    private List<String[]> rows;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Fixtures.SEED);
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new String[]{
+                    "Building " + i,
+                    String.valueOf(random.nextInt(1000)),
+                    "$" + random.nextInt(100000),
+                    random.nextInt(100) + "%"
+            });
+        }
+    }
+
+    @Benchmark
+    public String createTable() {
+        return ConsoleFormatter.createTable(HEADERS, rows);
+    }
+}
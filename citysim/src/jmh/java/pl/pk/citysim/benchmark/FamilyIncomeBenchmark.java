@@ -0,0 +1,44 @@
+package pl.pk.citysim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.pk.citysim.model.FamilyManager;
+
+import java.util.concurrent.TimeUnit;
+
+// The daily income pass alone, sequential and on the fork/join pool
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FamilyIncomeBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int families;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private FamilyManager familyManager;
+
+    @Setup
+    public void setUp() {
+        familyManager = new FamilyManager(families, Fixtures.SEED);
+        familyManager.setParallelIncome(parallel);
+    }
+
+    @Benchmark
+    public int calculateFamilyIncomes() {
+        return familyManager.calculateFamilyIncomes(0.5, 0.9, 0.8, 0.9);
+    }
+}
@@ -0,0 +1,41 @@
+package pl.pk.citysim.benchmark;
+
+import pl.pk.citysim.model.Building;
+import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.CommercialBuilding;
+import pl.pk.citysim.model.HospitalBuilding;
+import pl.pk.citysim.model.IndustrialBuilding;
+import pl.pk.citysim.model.PowerPlantBuilding;
+import pl.pk.citysim.model.ResidentialBuilding;
+import pl.pk.citysim.model.SchoolBuilding;
+import pl.pk.citysim.model.WaterPlantBuilding;
+
+// Shared setup for the benchmarks; everything is driven by one fixed seed so runs are comparable across commits
+final class Fixtures {
+    static final long SEED = 20240601L;
+    static final int BUDGET = 1_000_000;
+
+    private Fixtures() {
+    }
+
+    // City whose buildings cover the given fraction of its families (housing, jobs and every service)
+    static City city(int families, double coverage) {
+        City city = new City("Benchmark", families, BUDGET, SEED);
+        int covered = (int) Math.ceil(families * coverage);
+        addFor(city, ResidentialBuilding.class, 25, covered);
+        addFor(city, CommercialBuilding.class, 15, covered / 2);
+        addFor(city, IndustrialBuilding.class, 10, covered / 2);
+        addFor(city, SchoolBuilding.class, 50, covered);
+        addFor(city, HospitalBuilding.class, 60, covered);
+        addFor(city, WaterPlantBuilding.class, 75, covered);
+        addFor(city, PowerPlantBuilding.class, 100, covered);
+        return city;
+    }
+
+    private static void addFor(City city, Class<? extends Building> type, int perBuilding, int families) {
+        int count = (families + perBuilding - 1) / perBuilding;
+        for (int i = 0; i < count; i++) {
+            city.addBuilding(type, 0);
+        }
+    }
+}
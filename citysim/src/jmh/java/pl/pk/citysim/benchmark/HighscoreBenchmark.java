@@ -0,0 +1,81 @@
+package pl.pk.citysim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.pk.citysim.model.Highscore;
+import pl.pk.citysim.model.Leaderboard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs against its own Leaderboard on a temporary file, so the saves/highscores.txt of the working
+// directory is never touched. The write-behind delay is long enough that only flush() writes the file.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighscoreBenchmark {
+    private static final LocalDateTime ACHIEVED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private Path dir;
+    private Path file;
+    private Leaderboard leaderboard;
+    private int round;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("highscore-bench");
+        file = dir.resolve("highscores.txt");
+        leaderboard = new Leaderboard(file, TimeUnit.HOURS.toMillis(1));
+        // A full table, so saving always has to merge, sort and trim
+        for (int i = 0; i < 10; i++) {
+            leaderboard.submit(new Highscore("City" + i, 1000 + i * 100, 50, 5000, 60, 100, ACHIEVED_AT));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        leaderboard.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public List<Highscore> loadHighscores() {
+        return leaderboard.getHighscores();
+    }
+
+    @Benchmark
+    public boolean saveHighscore() {
+        return leaderboard.submit(nextHighscore());
+    }
+
+    // Submit plus the file write that the background thread would do
+    @Benchmark
+    public boolean saveAndFlush() {
+        boolean saved = leaderboard.submit(nextHighscore());
+        leaderboard.flush();
+        return saved;
+    }
+
+    // Alternate the score so the entry keeps moving within the table
+    private Highscore nextHighscore() {
+        round++;
+        return new Highscore("BenchmarkCity", 1000 + (round & 1) * 1000, 80, 8000, 70, 100, ACHIEVED_AT);
+    }
+}
@@ -2,16 +2,50 @@ package pl.pk.citysim;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import pl.pk.citysim.engine.GameLoop;
+import pl.pk.citysim.engine.HeadlessRunner;
+import pl.pk.citysim.engine.JournalReplayer;
+import pl.pk.citysim.engine.StrategyEvaluator;
+import pl.pk.citysim.engine.StrategyPlan;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.model.RandomSource;
+import pl.pk.citysim.model.SimulationMetrics;
 import pl.pk.citysim.service.CityService;
+import pl.pk.citysim.service.CommandJournal;
+import pl.pk.citysim.ui.ConsoleFormatter;
 import pl.pk.citysim.ui.ConsoleUi;
 
 public class CitySim {
     private static final Logger logger = LoggerFactory.getLogger(CitySim.class);
 
     public static void main(String[] args) {
+        // Tick timings and counters for JConsole / JMC
+        SimulationMetrics.registerMBean();
+        if (args.length > 0 && args[0].equals("--headless")) {
+            runHeadless(args);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--evaluate")) {
+            runEvaluation(args);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--replay")) {
+            runReplay(Path.of(args[1]));
+            return;
+        }
         logger.info("Starting CitySim application");
         CityService cityService = new CityService();
+        startJournal(cityService);
+        // Lets a file event sink write out its last events
+        Runtime.getRuntime().addShutdownHook(new Thread(cityService.getCity().getEventSink()::close, "event-log-close"));
         GameLoop gameLoop = new GameLoop(cityService, null); // Temporary null for consoleUi
         ConsoleUi consoleUi = new ConsoleUi(cityService, gameLoop);
         try {
@@ -25,4 +59,149 @@ public class CitySim {
 
         logger.info("CitySim application started");
     }
+
+    // --headless [--runs N] [--seed S] [--format csv|json] [--out FILE]
+    private static void runHeadless(String[] args) {
+        int runs = 1;
+        long seed = RandomSource.randomSeed();
+        HeadlessRunner.Format format = HeadlessRunner.Format.CSV;
+        String out = null;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--format" -> format = HeadlessRunner.Format.valueOf(args[i + 1].toUpperCase());
+                case "--out" -> out = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (out == null) {
+            out = "metrics." + format.name().toLowerCase();
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(GameConfig.loadProperties(new File("config.yml")), format);
+        Path outFile = Path.of(out);
+        int runCount = runs;
+        long firstSeed = seed;
+        withQuietLogging(() -> {
+            long started = System.nanoTime();
+            try {
+                long days = runner.run(firstSeed, runCount, outFile);
+                long millis = (System.nanoTime() - started) / 1_000_000;
+                logger.info("Simulated {} days in {} runs (first seed {}) in {} ms, metrics written to {}",
+                        days, runCount, firstSeed, millis, outFile);
+            } catch (IOException e) {
+                logger.error("Failed to write metrics to " + outFile, e);
+            }
+        });
+    }
+
+    // Per-city log lines would dominate the run time of the batch modes
+    private static <T> T withQuietLogging(Supplier<T> action) {
+        java.util.logging.Logger appLogger = java.util.logging.Logger.getLogger("pl.pk.citysim");
+        Level previousLevel = appLogger.getLevel();
+        appLogger.setLevel(Level.WARNING);
+        try {
+            return action.get();
+        } finally {
+            appLogger.setLevel(previousLevel);
+        }
+    }
+
+    private static void withQuietLogging(Runnable action) {
+        withQuietLogging(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void startJournal(CityService cityService) {
+        String journalFile = cityService.getConfig().getJournalFile();
+        if (journalFile == null) {
+            return;
+        }
+        try {
+            CommandJournal journal = CommandJournal.create(Path.of(journalFile), cityService.getConfig());
+            cityService.setJournal(journal);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close command journal", e);
+                }
+            }, "journal-close"));
+            logger.info("Recording commands to {}", journalFile);
+        } catch (IOException e) {
+            logger.error("Failed to create command journal " + journalFile, e);
+        }
+    }
+
+    // --replay JOURNAL
+    private static void runReplay(Path journalFile) {
+        withQuietLogging(() -> {
+            try {
+                JournalReplayer.Result result = JournalReplayer.replay(journalFile);
+                CityService cityService = result.getCityService();
+                System.out.print(cityService.getCityStats());
+                System.out.printf("Replayed %d commands (%d days) in %.1f ms, score %d%n",
+                        result.getCommands(), result.getTicks(), result.getElapsedNanos() / 1_000_000.0,
+                        cityService.calculateScore());
+            } catch (IOException e) {
+                logger.error("Failed to replay journal " + journalFile, e);
+            }
+        });
+    }
+
+    // --evaluate PLAN [--runs N] [--seed S]
+    private static void runEvaluation(String[] args) {
+        Path planFile = Path.of(args[1]);
+        int runs = 1000;
+        long seed = RandomSource.randomSeed();
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        StrategyPlan plan;
+        try {
+            plan = StrategyPlan.load(planFile);
+        } catch (IOException e) {
+            logger.error("Failed to read strategy plan " + planFile, e);
+            return;
+        }
+
+        StrategyEvaluator evaluator = new StrategyEvaluator(GameConfig.loadProperties(new File("config.yml")), plan);
+        long firstSeed = seed;
+        int runCount = runs;
+        long started = System.nanoTime();
+        StrategyEvaluator.Report report = withQuietLogging(() -> evaluator.evaluate(firstSeed, runCount));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        List<String[]> rows = new ArrayList<>();
+        addDistributionRow(rows, "Families", report.getFamilies());
+        addDistributionRow(rows, "Budget", report.getBudget());
+        addDistributionRow(rows, "Satisfaction", report.getSatisfaction());
+        addDistributionRow(rows, "Score", report.getScore());
+        addDistributionRow(rows, "Days played", report.getDays());
+        System.out.print(ConsoleFormatter.createHeader("STRATEGY EVALUATION: " + runs + " RUNS"));
+        System.out.print(ConsoleFormatter.createTable(
+                new String[]{"Metric", "Mean", "Min", "P10", "Median", "P90", "Max"}, rows));
+        System.out.printf("Bankrupt: %.1f%%, abandoned: %.1f%% (seeds %d..%d, %d ms)%n",
+                report.getBankruptcyRate() * 100, report.getAbandonmentRate() * 100, seed, seed + runs - 1, millis);
+    }
+
+    private static void addDistributionRow(List<String[]> rows, String name, StrategyEvaluator.Distribution distribution) {
+        rows.add(new String[]{
+                name,
+                String.format("%.1f", distribution.getMean()),
+                String.valueOf(distribution.getMin()),
+                String.valueOf(distribution.getPercentile(10)),
+                String.valueOf(distribution.getMedian()),
+                String.valueOf(distribution.getPercentile(90)),
+                String.valueOf(distribution.getMax())
+        });
+    }
 }
@@ -0,0 +1,362 @@
+package pl.pk.citysim.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.CitySnapshot;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.model.RandomSource;
+import pl.pk.citysim.service.CityService;
+
+// Hosts many independent cities in one JVM. Every city has its own mailbox: commands and ticks for a
+// city run one at a time in submission order, while different cities run in parallel on the executor.
+// There is no lock shared between cities. Idle cities can be evicted to a CitySnapshot file and are
+// loaded again by the next command sent to them. tickAll() leaves evicted cities on disk and only counts
+// the days they miss; those days are run when the city is loaded.
+public class CityHost implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(CityHost.class.getName());
+    // Tasks run per turn before a city gives its worker to the next one
+    private static final int MAX_TASKS_PER_TURN = 16;
+    // City ids become snapshot file names, so they may not contain path separators or dots
+    private static final Pattern CITY_ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+
+    private final Properties baseConfig;
+    private final Path storageDir;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, HostedCity> cities;
+    private final AtomicInteger residentCount;
+    // Numbers each HostedCity, so a removed city and a new one with the same id never share a snapshot file
+    private final AtomicLong generations;
+
+    public CityHost(Properties baseConfig, Path storageDir) {
+        this(baseConfig, storageDir, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CityHost(Properties baseConfig, Path storageDir, int workers) {
+        this(baseConfig, storageDir, Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "city-host-worker");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // The host takes ownership of the executor and shuts it down on close()
+    public CityHost(Properties baseConfig, Path storageDir, ExecutorService executor) {
+        this.baseConfig = baseConfig;
+        this.storageDir = storageDir;
+        this.executor = executor;
+        this.cities = new ConcurrentHashMap<>();
+        this.residentCount = new AtomicInteger();
+        this.generations = new AtomicLong();
+    }
+
+    public void createCity(String id, String name) {
+        createCity(id, name, RandomSource.randomSeed());
+    }
+
+    public void createCity(String id, String name, long seed) {
+        if (id == null || !CITY_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid city id: " + id);
+        }
+        CityService cityService = new CityService(configFor(seed));
+        cityService.getCity().setName(name);
+        HostedCity hosted = new HostedCity(id, generations.incrementAndGet(), cityService);
+        if (cities.putIfAbsent(id, hosted) != null) {
+            throw new IllegalArgumentException("City already exists: " + id);
+        }
+        residentCount.incrementAndGet();
+    }
+
+    public boolean removeCity(String id) {
+        HostedCity hosted = cities.remove(id);
+        if (hosted == null) {
+            return false;
+        }
+        // Runs after any eviction still queued for the city; the file is this instance's alone
+        hosted.enqueue(() -> {
+            hosted.release();
+            hosted.deleteSnapshot();
+        });
+        return true;
+    }
+
+    // Runs command on the city's CityService after every command submitted to that city before it.
+    // This is the player's access to the city and keeps it from counting as idle.
+    public <T> CompletableFuture<T> submit(String id, Function<CityService, T> command) {
+        return call(id, hosted -> command.apply(hosted.access()));
+    }
+
+    // Completes with false once the game is over; a finished city is not ticked again. Loads an evicted
+    // city but, unlike submit(), does not count as access.
+    public CompletableFuture<Boolean> tick(String id) {
+        return call(id, HostedCity::tick);
+    }
+
+    // Advances every hosted city whose game is not over by one day; an evicted city stays on disk and
+    // gets the day when it is loaded
+    public CompletableFuture<Void> tickAll() {
+        List<CompletableFuture<Void>> ticks = new ArrayList<>(cities.size());
+        for (HostedCity hosted : cities.values()) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            hosted.enqueue(() -> {
+                try {
+                    hosted.tickOrDefer();
+                    done.complete(null);
+                } catch (Throwable e) {
+                    done.completeExceptionally(e);
+                }
+            });
+            ticks.add(done);
+        }
+        return CompletableFuture.allOf(ticks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private <T> CompletableFuture<T> call(String id, Function<HostedCity, T> task) {
+        HostedCity hosted = cities.get(id);
+        if (hosted == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown city: " + id));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        hosted.enqueue(() -> {
+            try {
+                result.complete(task.apply(hosted));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // Saves the city to the storage directory and drops it from memory
+    public CompletableFuture<Boolean> evict(String id) {
+        HostedCity hosted = cities.get(id);
+        if (hosted == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        hosted.enqueue(() -> {
+            try {
+                result.complete(hosted.evict());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // Evicts every resident city that has had no submit() for idleMillis (ticks do not count);
+    // returns how many were scheduled
+    public int evictIdle(long idleMillis) {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        int scheduled = 0;
+        for (HostedCity hosted : cities.values()) {
+            if (hosted.cityService != null && hosted.lastAccessNanos - cutoff <= 0) {
+                evict(hosted.id);
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    // True once a tick of the city ended in a game-over condition (bankruptcy, no families, MAX_DAYS)
+    public boolean isFinished(String id) {
+        HostedCity hosted = cities.get(id);
+        return hosted != null && hosted.finished;
+    }
+
+    public boolean isResident(String id) {
+        HostedCity hosted = cities.get(id);
+        return hosted != null && hosted.cityService != null;
+    }
+
+    public Set<String> getCityIds() {
+        return cities.keySet();
+    }
+
+    public int getCityCount() {
+        return cities.size();
+    }
+
+    public int getResidentCount() {
+        return residentCount.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private GameConfig configFor(long seed) {
+        Properties props = new Properties();
+        props.putAll(baseConfig);
+        props.setProperty("seed", String.valueOf(seed));
+        // The host already spreads cities over the workers
+        props.setProperty("parallelIncome", "false");
+        // A file sink per city would start a writer thread per city, all appending to the same file
+        if (GameConfig.EventSinkType.FILE.name().equalsIgnoreCase(props.getProperty("eventSink", "").trim())) {
+            props.setProperty("eventSink", GameConfig.EventSinkType.RING.name());
+        }
+        return new GameConfig(props);
+    }
+
+    private final class HostedCity {
+        private final String id;
+        private final long generation;
+        private final ConcurrentLinkedQueue<Runnable> mailbox;
+        private final AtomicBoolean scheduled;
+        // Only touched by the task currently running for this city; volatile for the monitoring getters
+        private volatile CityService cityService;
+        private volatile long lastAccessNanos;
+        private int missedDays; // Days tickAll() passed while the city was evicted
+        private volatile boolean finished;
+
+        HostedCity(String id, long generation, CityService cityService) {
+            this.id = id;
+            this.generation = generation;
+            this.mailbox = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean();
+            this.cityService = cityService;
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        void enqueue(Runnable task) {
+            mailbox.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                int run = 0;
+                while (run < MAX_TASKS_PER_TURN && (task = mailbox.poll()) != null) {
+                    task.run();
+                    run++;
+                }
+            } finally {
+                scheduled.set(false);
+                // A task added after the last poll must not be left behind
+                if (!mailbox.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        CityService resident() {
+            CityService current = cityService;
+            if (current == null) {
+                try {
+                    City city = CitySnapshot.load(snapshotFile());
+                    current = new CityService(configFor(city.getSeed()), city);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to load city " + id, e);
+                }
+                cityService = current;
+                residentCount.incrementAndGet();
+                for (; missedDays > 0 && !finished; missedDays--) {
+                    finished = !current.cityTick();
+                }
+                missedDays = 0;
+            }
+            return current;
+        }
+
+        CityService access() {
+            CityService current = resident();
+            lastAccessNanos = System.nanoTime();
+            return current;
+        }
+
+        boolean tick() {
+            if (!finished) {
+                CityService current = resident(); // May finish the game while catching up
+                if (!finished) {
+                    finished = !current.cityTick();
+                }
+            }
+            return !finished;
+        }
+
+        Path snapshotFile() {
+            Path dir = storageDir.toAbsolutePath().normalize();
+            Path file = dir.resolve(id + "-" + generation + ".city").normalize();
+            if (!file.startsWith(dir)) {
+                throw new IllegalStateException("Snapshot of city " + id + " would be outside " + storageDir);
+            }
+            return file;
+        }
+
+        void deleteSnapshot() {
+            try {
+                Files.deleteIfExists(snapshotFile());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to delete snapshot of city " + id, e);
+            }
+        }
+
+        void tickOrDefer() {
+            if (finished) {
+                return;
+            }
+            CityService current = cityService;
+            if (current == null) {
+                missedDays++;
+            } else {
+                finished = !current.cityTick();
+            }
+        }
+
+        boolean evict() throws IOException {
+            CityService current = cityService;
+            if (current == null) {
+                return false;
+            }
+            Files.createDirectories(storageDir);
+            CitySnapshot.save(current.getCity(), snapshotFile());
+            release();
+            return true;
+        }
+
+        // Drops the city from memory and closes its event sink
+        void release() {
+            CityService current = cityService;
+            if (current != null) {
+                cityService = null;
+                residentCount.decrementAndGet();
+                current.getCity().getEventSink().close();
+            }
+        }
+    }
+}
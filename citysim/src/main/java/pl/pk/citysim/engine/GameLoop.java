@@ -1,7 +1,11 @@
 package pl.pk.citysim.engine;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.logging.Level;
+import pl.pk.citysim.model.City;
 import pl.pk.citysim.model.GameConfig;
 import pl.pk.citysim.service.CityService;
 import pl.pk.citysim.ui.ConsoleUi;
@@ -13,17 +17,26 @@ public class GameLoop {
     private final GameConfig config;
     private boolean running;
 
+    // Real-time mode: the clock thread advances the city, the console thread only reads input.
+    // Both touch the city under cityLock.
+    private final Object cityLock = new Object();
+    private volatile boolean realTimeRunning;
+    private volatile boolean paused;
+    private Thread clockThread;
+    private volatile long ticksRun;
+    private volatile long ticksSkipped;
+
     public GameLoop(CityService cityService, ConsoleUi consoleUi) {
         this.cityService = cityService;
         this.consoleUi = consoleUi;
-        this.config = new GameConfig();
+        this.config = cityService.getConfig();
         this.running = false;
     }
 
     public void start() {
         if (!running) {
             running = true;
-            logger.log(Level.INFO, "Starting linear game loop");
+            logger.log(Level.INFO, config.isRealTime() ? "Starting real-time game loop" : "Starting linear game loop");
             consoleUi.start();
         }
     }
@@ -31,7 +44,10 @@ public class GameLoop {
     public boolean tick() {
         try {
             if (running) {
-                boolean continueGame = cityService.cityTick();
+                boolean continueGame;
+                synchronized (cityLock) {
+                    continueGame = cityService.cityTick();
+                }
                 if (!continueGame) {
                     consoleUi.handleGameOver();
                     return false;
@@ -46,4 +62,242 @@ public class GameLoop {
             return false;
         }
     }
+
+    // Runs up to days ticks back to back with no per-day rendering or highscore writes;
+    // stops early when cityTick reports game over
+    public FastForwardResult fastForward(int days) {
+        synchronized (cityLock) {
+            City city = cityService.getCity();
+            FastForwardResult result = new FastForwardResult(city);
+            while (result.daysRun < days) {
+                boolean continueGame = cityService.cityTick();
+                result.daysRun++;
+                result.totalIncome += city.getDailyIncome();
+                result.totalExpenses += city.getDailyExpenses();
+                if (!continueGame) {
+                    result.gameOver = true;
+                    break;
+                }
+            }
+            result.finish(city);
+            return result;
+        }
+    }
+
+    public boolean isRealTime() {
+        return config.isRealTime();
+    }
+
+    // Starts the clock thread; ticks are scheduled from the start time, not from the end of the
+    // previous tick, so a slow tick does not push every later day back
+    public synchronized void startRealTime() {
+        if (clockThread != null) {
+            return;
+        }
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getTickIntervalMs()));
+        int maxCatchUp = Math.max(1, config.getMaxCatchUpTicks());
+        realTimeRunning = true;
+        clockThread = new Thread(() -> runClock(intervalNanos, maxCatchUp), "city-sim-clock");
+        clockThread.setDaemon(true);
+        clockThread.start();
+        logger.log(Level.INFO, "Real-time clock started, one day every " + config.getTickIntervalMs() + " ms");
+    }
+
+    public void stopRealTime() {
+        Thread thread;
+        synchronized (this) {
+            thread = clockThread;
+            clockThread = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        realTimeRunning = false;
+        thread.interrupt();
+        // Waiting while holding the city lock (e.g. 'exit' typed in real-time mode) would deadlock with the clock thread
+        if (thread != Thread.currentThread() && !Thread.holdsLock(cityLock)) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRealTimeRunning() {
+        return realTimeRunning;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+        Thread thread = clockThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    // Ticks dropped because the loop fell more than maxCatchUpTicks behind
+    public long getTicksSkipped() {
+        return ticksSkipped;
+    }
+
+    // Runs a console command without racing the clock thread
+    public void runExclusive(Runnable action) {
+        synchronized (cityLock) {
+            action.run();
+        }
+    }
+
+    public <T> T readExclusive(Supplier<T> reader) {
+        synchronized (cityLock) {
+            return reader.get();
+        }
+    }
+
+    private void runClock(long intervalNanos, int maxCatchUp) {
+        long nextTick = System.nanoTime() + intervalNanos;
+        while (realTimeRunning) {
+            if (paused) {
+                LockSupport.park(this);
+                // The clock restarts from the moment the game is resumed
+                nextTick = System.nanoTime() + intervalNanos;
+                continue;
+            }
+            long wait = nextTick - System.nanoTime();
+            if (wait > 0) {
+                // May return early (unpark, interrupt, spurious wakeup); the loop re-checks the deadline
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            if (!realTimeTick()) {
+                realTimeRunning = false;
+                break;
+            }
+            nextTick += intervalNanos;
+            long behind = System.nanoTime() - nextTick;
+            if (behind > maxCatchUp * intervalNanos) {
+                long skipped = behind / intervalNanos;
+                ticksSkipped += skipped;
+                nextTick += skipped * intervalNanos;
+                logger.log(Level.WARNING, "Simulation fell behind, skipped " + skipped + " ticks");
+            }
+        }
+    }
+
+    private boolean realTimeTick() {
+        try {
+            boolean continueGame;
+            String status = null;
+            synchronized (cityLock) {
+                continueGame = cityService.cityTick();
+                ticksRun++;
+                if (consoleUi != null) {
+                    status = continueGame ? consoleUi.formatRealTimeStatus() : consoleUi.formatGameOver();
+                }
+            }
+            // Printed outside the lock so a slow terminal does not block console commands
+            if (!continueGame) {
+                if (status != null) {
+                    consoleUi.showGameOver(status);
+                }
+                return false;
+            }
+            if (status != null) {
+                consoleUi.showRealTimeStatus(status);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error during game tick", e);
+            return false;
+        }
+    }
+
+    public static class FastForwardResult {
+        private final int startDay;
+        private final int startFamilies;
+        private final int startBudget;
+        private final int startSatisfaction;
+        private int endDay;
+        private int endFamilies;
+        private int endBudget;
+        private int endSatisfaction;
+        private int daysRun;
+        private long totalIncome;
+        private long totalExpenses;
+        private boolean gameOver;
+
+        FastForwardResult(City city) {
+            this.startDay = city.getDay();
+            this.startFamilies = city.getFamilies();
+            this.startBudget = city.getBudget();
+            this.startSatisfaction = city.getSatisfaction();
+        }
+
+        private void finish(City city) {
+            endDay = city.getDay();
+            endFamilies = city.getFamilies();
+            endBudget = city.getBudget();
+            endSatisfaction = city.getSatisfaction();
+        }
+
+        public int getStartDay() {
+            return startDay;
+        }
+
+        public int getStartFamilies() {
+            return startFamilies;
+        }
+
+        public int getStartBudget() {
+            return startBudget;
+        }
+
+        public int getStartSatisfaction() {
+            return startSatisfaction;
+        }
+
+        public int getEndDay() {
+            return endDay;
+        }
+
+        public int getEndFamilies() {
+            return endFamilies;
+        }
+
+        public int getEndBudget() {
+            return endBudget;
+        }
+
+        public int getEndSatisfaction() {
+            return endSatisfaction;
+        }
+
+        public int getDaysRun() {
+            return daysRun;
+        }
+
+        public long getTotalIncome() {
+            return totalIncome;
+        }
+
+        public long getTotalExpenses() {
+            return totalExpenses;
+        }
+
+        public boolean isGameOver() {
+            return gameOver;
+        }
+    }
 }
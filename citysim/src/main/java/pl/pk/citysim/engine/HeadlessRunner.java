@@ -0,0 +1,112 @@
+package pl.pk.citysim.engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.service.CityService;
+
+// Runs whole games without the console: one city per seed, ticked until game over or
+// GameConfig.MAX_DAYS, with one metrics row per simulated day streamed to a writer.
+public class HeadlessRunner {
+    private static final Logger logger = Logger.getLogger(HeadlessRunner.class.getName());
+    private static final String[] COLUMNS = {
+            "seed", "day", "families", "budget", "satisfaction", "dailyIncome", "dailyExpenses", "taxRate", "vatRate"
+    };
+
+    public enum Format {
+        CSV,
+        JSON // One JSON object per line
+    }
+
+    private final Properties baseConfig;
+    private final Format format;
+
+    public HeadlessRunner(Properties baseConfig, Format format) {
+        this.baseConfig = baseConfig;
+        this.format = format;
+    }
+
+    // Simulates runs cities with seeds firstSeed, firstSeed + 1, ... and returns the number of simulated days
+    public long run(long firstSeed, int runs, Writer out) throws IOException {
+        if (format == Format.CSV) {
+            out.write(String.join(",", COLUMNS));
+            out.write('\n');
+        }
+        long totalDays = 0;
+        for (int i = 0; i < runs; i++) {
+            totalDays += runOne(firstSeed + i, out);
+        }
+        out.flush();
+        return totalDays;
+    }
+
+    public long run(long firstSeed, int runs, Path output) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), 1 << 16)) {
+            return run(firstSeed, runs, out);
+        }
+    }
+
+    private int runOne(long seed, Writer out) throws IOException {
+        Properties props = new Properties();
+        props.putAll(baseConfig);
+        props.setProperty("seed", String.valueOf(seed));
+        // Batch runs never read the event text
+        props.setProperty("eventSink", "NONE");
+        props.setProperty("eventHistoryDays", "0");
+        CityService cityService = new CityService(new GameConfig(props));
+        City city = cityService.getCity();
+
+        int days = 0;
+        boolean running = true;
+        while (running && city.getDay() < GameConfig.MAX_DAYS) {
+            running = cityService.cityTick();
+            days++;
+            writeRow(out, seed, city);
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, String.format("Seed %d finished on day %d with score %d",
+                    seed, city.getDay(), cityService.calculateScore()));
+        }
+        return days;
+    }
+
+    // Numbers are appended directly instead of through String.format to keep per-day cost low
+    private void writeRow(Writer out, long seed, City city) throws IOException {
+        if (format == Format.JSON) {
+            out.write('{');
+        }
+        writeField(out, 0, Long.toString(seed));
+        writeField(out, 1, Integer.toString(city.getDay()));
+        writeField(out, 2, Integer.toString(city.getFamilies()));
+        writeField(out, 3, Integer.toString(city.getBudget()));
+        writeField(out, 4, Integer.toString(city.getSatisfaction()));
+        writeField(out, 5, Integer.toString(city.getDailyIncome()));
+        writeField(out, 6, Integer.toString(city.getDailyExpenses()));
+        writeField(out, 7, Double.toString(city.getTaxRate()));
+        writeField(out, 8, Double.toString(city.getVatRate()));
+        if (format == Format.JSON) {
+            out.write('}');
+        }
+        out.write('\n');
+    }
+
+    private void writeField(Writer out, int column, String value) throws IOException {
+        if (column > 0) {
+            out.write(',');
+        }
+        if (format == Format.JSON) {
+            out.write('"');
+            out.write(COLUMNS[column]);
+            out.write("\":");
+        }
+        out.write(value);
+    }
+}
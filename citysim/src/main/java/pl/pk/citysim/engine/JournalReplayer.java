@@ -0,0 +1,100 @@
+package pl.pk.citysim.engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Properties;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.service.CityService;
+import pl.pk.citysim.service.CommandJournal;
+
+// Re-executes a CommandJournal against a fresh city with the recorded settings and seed, without a console.
+// Commands go through the same CityService methods as in the game, so the replay ends in the same state.
+public class JournalReplayer {
+
+    private JournalReplayer() {
+    }
+
+    public static Result replay(Path journalFile) throws IOException {
+        ReplayHandler handler = new ReplayHandler();
+        long started = System.nanoTime();
+        CommandJournal.read(journalFile, handler);
+        if (handler.cityService == null) {
+            throw new IOException("Journal has no header: " + journalFile);
+        }
+        return new Result(handler.cityService, handler.commands, handler.ticks, System.nanoTime() - started);
+    }
+
+    public static class Result {
+        private final CityService cityService;
+        private final int commands;
+        private final int ticks;
+        private final long elapsedNanos;
+
+        Result(CityService cityService, int commands, int ticks, long elapsedNanos) {
+            this.cityService = cityService;
+            this.commands = commands;
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public CityService getCityService() {
+            return cityService;
+        }
+
+        // Journal records replayed, day advances included
+        public int getCommands() {
+            return commands;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    private static final class ReplayHandler implements CommandJournal.Handler {
+        private CityService cityService;
+        private int commands;
+        private int ticks;
+
+        @Override
+        public void start(Properties config) {
+            cityService = new CityService(new GameConfig(config));
+        }
+
+        @Override
+        public void setCityName(String name) {
+            commands++;
+            cityService.setCityName(name);
+        }
+
+        @Override
+        public void buildBuildings(BuildingType type, int count) {
+            commands++;
+            cityService.buildBuildings(type, count);
+        }
+
+        @Override
+        public void setTaxRate(double taxRate) {
+            commands++;
+            cityService.setTaxRate(taxRate);
+        }
+
+        @Override
+        public void setVatRate(double vatRate) {
+            commands++;
+            cityService.setVatRate(vatRate);
+        }
+
+        @Override
+        public void tick() {
+            commands++;
+            ticks++;
+            cityService.cityTick();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package pl.pk.citysim.engine;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.model.Highscore;
+import pl.pk.citysim.service.CityService;
+
+// Plays the same StrategyPlan on many independently seeded cities and summarizes how the games ended.
+// Each run owns its CityService, so runs are spread over a fork/join pool with no shared state;
+// results are stored by run index and do not depend on the number of threads.
+public class StrategyEvaluator {
+    private final Properties baseConfig;
+    private final StrategyPlan plan;
+    private final ForkJoinPool pool;
+
+    public StrategyEvaluator(Properties baseConfig, StrategyPlan plan) {
+        this(baseConfig, plan, ForkJoinPool.commonPool());
+    }
+
+    public StrategyEvaluator(Properties baseConfig, StrategyPlan plan, ForkJoinPool pool) {
+        this.baseConfig = baseConfig;
+        this.plan = plan;
+        this.pool = pool;
+    }
+
+    // Runs cities with seeds firstSeed, firstSeed + 1, ..., firstSeed + runs - 1
+    public Report evaluate(long firstSeed, int runs) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Number of runs must be positive");
+        }
+        int[] families = new int[runs];
+        int[] budgets = new int[runs];
+        int[] satisfaction = new int[runs];
+        int[] scores = new int[runs];
+        int[] days = new int[runs];
+        Outcome[] outcomes = new Outcome[runs];
+
+        pool.submit(() -> IntStream.range(0, runs).parallel().forEach(i -> {
+            CityService cityService = runOne(firstSeed + i);
+            City city = cityService.getCity();
+            families[i] = city.getFamilies();
+            budgets[i] = city.getBudget();
+            satisfaction[i] = city.getSatisfaction();
+            scores[i] = Highscore.calculateScore(city).getScore();
+            days[i] = city.getDay();
+            outcomes[i] = outcomeOf(cityService);
+        })).join();
+
+        int bankrupt = 0;
+        int abandoned = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome == Outcome.BANKRUPT) {
+                bankrupt++;
+            } else if (outcome == Outcome.ABANDONED) {
+                abandoned++;
+            }
+        }
+        return new Report(runs, new Distribution(families), new Distribution(budgets),
+                new Distribution(satisfaction), new Distribution(scores), new Distribution(days), bankrupt, abandoned);
+    }
+
+    private CityService runOne(long seed) {
+        Properties props = new Properties();
+        props.putAll(baseConfig);
+        props.setProperty("seed", String.valueOf(seed));
+        // Runs already use every core; splitting each city's income as well would only add overhead
+        props.setProperty("parallelIncome", "false");
+        // Batch runs never read the event text
+        props.setProperty("eventSink", "NONE");
+        props.setProperty("eventHistoryDays", "0");
+        CityService cityService = new CityService(new GameConfig(props));
+        City city = cityService.getCity();
+
+        boolean running = true;
+        while (running && city.getDay() < GameConfig.MAX_DAYS) {
+            plan.apply(cityService);
+            running = cityService.cityTick();
+        }
+        return cityService;
+    }
+
+    private static Outcome outcomeOf(CityService cityService) {
+        City city = cityService.getCity();
+        if (cityService.isSandboxMode()) {
+            return Outcome.COMPLETED;
+        }
+        if (city.getBudget() < 0) {
+            return Outcome.BANKRUPT;
+        }
+        if (city.getFamilies() <= 0) {
+            return Outcome.ABANDONED;
+        }
+        return Outcome.COMPLETED;
+    }
+
+    private enum Outcome {
+        COMPLETED,
+        BANKRUPT,
+        ABANDONED
+    }
+
+    public static class Report {
+        private final int runs;
+        private final Distribution families;
+        private final Distribution budget;
+        private final Distribution satisfaction;
+        private final Distribution score;
+        private final Distribution days;
+        private final int bankruptRuns;
+        private final int abandonedRuns;
+
+        Report(int runs, Distribution families, Distribution budget, Distribution satisfaction, Distribution score,
+               Distribution days, int bankruptRuns, int abandonedRuns) {
+            this.runs = runs;
+            this.families = families;
+            this.budget = budget;
+            this.satisfaction = satisfaction;
+            this.score = score;
+            this.days = days;
+            this.bankruptRuns = bankruptRuns;
+            this.abandonedRuns = abandonedRuns;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public Distribution getFamilies() {
+            return families;
+        }
+
+        public Distribution getBudget() {
+            return budget;
+        }
+
+        public Distribution getSatisfaction() {
+            return satisfaction;
+        }
+
+        public Distribution getScore() {
+            return score;
+        }
+
+        public Distribution getDays() {
+            return days;
+        }
+
+        public int getBankruptRuns() {
+            return bankruptRuns;
+        }
+
+        public int getAbandonedRuns() {
+            return abandonedRuns;
+        }
+
+        public double getBankruptcyRate() {
+            return (double) bankruptRuns / runs;
+        }
+
+        public double getAbandonmentRate() {
+            return (double) abandonedRuns / runs;
+        }
+    }
+
+    // Summary of one final value across all runs
+    public static class Distribution {
+        private final int[] sorted;
+        private final double mean;
+
+        Distribution(int[] values) {
+            this.sorted = values.clone();
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (int value : sorted) {
+                sum += value;
+            }
+            this.mean = sorted.length == 0 ? 0 : (double) sum / sorted.length;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public int getMin() {
+            return sorted[0];
+        }
+
+        public int getMax() {
+            return sorted[sorted.length - 1];
+        }
+
+        // Nearest-rank percentile, p in 0..100
+        public int getPercentile(double p) {
+            if (p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        public int getMedian() {
+            return getPercentile(50);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package pl.pk.citysim.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.service.CityService;
+
+// Scripted build and tax actions keyed by day. Text form, one action per line, using the console syntax:
+//   <day> build <building_type> [count]
+//   <day> tax set <income|vat> <rate in percent>
+// Blank lines and lines starting with '#' are ignored.
+public class StrategyPlan {
+    public enum ActionType {
+        BUILD,
+        SET_TAX_RATE,
+        SET_VAT_RATE
+    }
+
+    private final Map<Integer, List<Action>> actionsByDay;
+    private int actionCount;
+
+    public StrategyPlan() {
+        this.actionsByDay = new HashMap<>();
+        this.actionCount = 0;
+    }
+
+    public StrategyPlan build(int day, BuildingType type, int count) {
+        if (type == null || count <= 0) {
+            throw new IllegalArgumentException("Build action needs a building type and a positive count");
+        }
+        return add(new Action(day, ActionType.BUILD, type, count, 0));
+    }
+
+    public StrategyPlan setTaxRate(int day, double taxRate) {
+        return add(new Action(day, ActionType.SET_TAX_RATE, null, 0, taxRate));
+    }
+
+    public StrategyPlan setVatRate(int day, double vatRate) {
+        return add(new Action(day, ActionType.SET_VAT_RATE, null, 0, vatRate));
+    }
+
+    public static StrategyPlan parse(List<String> lines) {
+        StrategyPlan plan = new StrategyPlan();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                plan.parseLine(line.split("\\s+"));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return plan;
+    }
+
+    public static StrategyPlan load(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    // Runs the actions scheduled for the city's current day, before that day is simulated
+    public void apply(CityService cityService) {
+        List<Action> actions = actionsByDay.get(cityService.getCity().getDay());
+        if (actions == null) {
+            return;
+        }
+        for (Action action : actions) {
+            switch (action.type) {
+                case BUILD -> cityService.buildBuildings(action.buildingType, action.count);
+                case SET_TAX_RATE -> cityService.setTaxRate(action.rate);
+                case SET_VAT_RATE -> cityService.setVatRate(action.rate);
+            }
+        }
+    }
+
+    public List<Action> getActions(int day) {
+        List<Action> actions = actionsByDay.get(day);
+        return actions == null ? Collections.emptyList() : Collections.unmodifiableList(actions);
+    }
+
+    public int getActionCount() {
+        return actionCount;
+    }
+
+    private StrategyPlan add(Action action) {
+        if (action.day < 1) {
+            throw new IllegalArgumentException("Day must be at least 1");
+        }
+        actionsByDay.computeIfAbsent(action.day, day -> new ArrayList<>()).add(action);
+        actionCount++;
+        return this;
+    }
+
+    private void parseLine(String[] parts) {
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Expected '<day> build ...' or '<day> tax set ...'");
+        }
+        int day = Integer.parseInt(parts[0]);
+        switch (parts[1].toLowerCase()) {
+            case "build" -> {
+                BuildingType type = BuildingType.fromKey(parts[2]);
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown building type: " + parts[2]);
+                }
+                build(day, type, parts.length > 3 ? Integer.parseInt(parts[3]) : 1);
+            }
+            case "tax" -> {
+                if (parts.length != 5 || !parts[2].equalsIgnoreCase("set")) {
+                    throw new IllegalArgumentException("Expected '<day> tax set <income|vat> <rate>'");
+                }
+                double rate = Double.parseDouble(parts[4]) / 100.0;
+                switch (parts[3].toLowerCase()) {
+                    case "income" -> setTaxRate(day, rate);
+                    case "vat" -> setVatRate(day, rate);
+                    default -> throw new IllegalArgumentException("Unknown tax type: " + parts[3]);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown action: " + parts[1]);
+        }
+    }
+
+    public static class Action {
+        private final int day;
+        private final ActionType type;
+        private final BuildingType buildingType;
+        private final int count;
+        private final double rate;
+
+        Action(int day, ActionType type, BuildingType buildingType, int count, double rate) {
+            this.day = day;
+            this.type = type;
+            this.buildingType = buildingType;
+            this.count = count;
+            this.rate = rate;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public ActionType getType() {
+            return type;
+        }
+
+        public BuildingType getBuildingType() {
+            return buildingType;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+    }
+}
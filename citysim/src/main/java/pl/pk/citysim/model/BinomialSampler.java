@@ -0,0 +1,157 @@
+package pl.pk.citysim.model;
+
+import java.util.random.RandomGenerator;
+
+// Exact Binomial(n, p) draws in time independent of n: inversion for small means,
+// BTPE (Kachitvichyanukul & Schmeiser, 1988) otherwise. Replaces "n coin flips" loops.
+public class BinomialSampler {
+    private static final double INVERSION_MAX_MEAN = 30.0;
+
+    public static int sample(RandomGenerator random, int n, double p) {
+        if (n <= 0 || p <= 0.0) {
+            return 0;
+        }
+        if (p >= 1.0) {
+            return n;
+        }
+        if (p > 0.5) {
+            return n - sample(random, n, 1.0 - p);
+        }
+        if (n * p <= INVERSION_MAX_MEAN) {
+            return inversion(random, n, p);
+        }
+        return btpe(random, n, p);
+    }
+
+    private static int inversion(RandomGenerator random, int n, double p) {
+        double q = 1.0 - p;
+        double qn = Math.exp(n * Math.log(q));
+        double np = n * p;
+        double bound = Math.min(n, np + 10.0 * Math.sqrt(np * q + 1));
+        int x = 0;
+        double px = qn;
+        double u = random.nextDouble();
+        while (u > px) {
+            x++;
+            if (x > bound) {
+                // Lost to rounding in the far tail; start over
+                x = 0;
+                px = qn;
+                u = random.nextDouble();
+            } else {
+                u -= px;
+                px = ((n - x + 1) * p * px) / (x * q);
+            }
+        }
+        return x;
+    }
+
+    // Expects p <= 0.5 and n * p > INVERSION_MAX_MEAN
+    private static int btpe(RandomGenerator random, int n, double p) {
+        double r = p;
+        double q = 1.0 - r;
+        double fm = n * r + r;
+        long m = (long) Math.floor(fm);
+        double nrq = n * r * q;
+        double p1 = Math.floor(2.195 * Math.sqrt(nrq) - 4.6 * q) + 0.5;
+        double xm = m + 0.5;
+        double xl = xm - p1;
+        double xr = xm + p1;
+        double c = 0.134 + 20.5 / (15.3 + m);
+        double a = (fm - xl) / (fm - xl * r);
+        double laml = a * (1.0 + a / 2.0);
+        a = (xr - fm) / (xr * q);
+        double lamr = a * (1.0 + a / 2.0);
+        double p2 = p1 * (1.0 + 2.0 * c);
+        double p3 = p2 + c / laml;
+        double p4 = p3 + c / lamr;
+
+        while (true) {
+            double u = random.nextDouble() * p4;
+            double v = random.nextDouble();
+            long y;
+            if (u <= p1) {
+                // Triangular centre: accept immediately
+                return (int) Math.floor(xm - p1 * v + u);
+            } else if (u <= p2) {
+                // Parallelograms
+                double x = xl + (u - p1) / c;
+                v = v * c + 1.0 - Math.abs(m - x + 0.5) / p1;
+                if (v > 1.0) {
+                    continue;
+                }
+                y = (long) Math.floor(x);
+            } else if (u <= p3) {
+                // Left exponential tail
+                y = (long) Math.floor(xl + Math.log(v) / laml);
+                if (y < 0 || v == 0.0) {
+                    continue;
+                }
+                v = v * (u - p2) * laml;
+            } else {
+                // Right exponential tail
+                y = (long) Math.floor(xr - Math.log(v) / lamr);
+                if (y > n || v == 0.0) {
+                    continue;
+                }
+                v = v * (u - p3) * lamr;
+            }
+
+            long k = Math.abs(y - m);
+            if (k <= 20 || k >= nrq / 2.0 - 1) {
+                // Explicit evaluation of f(y) / f(m)
+                double s = r / q;
+                double aa = s * (n + 1);
+                double f = 1.0;
+                if (m < y) {
+                    for (long i = m + 1; i <= y; i++) {
+                        f *= (aa / i - s);
+                    }
+                } else if (m > y) {
+                    for (long i = y + 1; i <= m; i++) {
+                        f /= (aa / i - s);
+                    }
+                }
+                if (v <= f) {
+                    return (int) y;
+                }
+                continue;
+            }
+
+            // Squeeze using upper and lower bounds on log(f(y))
+            double rho = (k / nrq) * ((k * (k / 3.0 + 0.625) + 0.1666666666666) / nrq + 0.5);
+            double t = -k * k / (2.0 * nrq);
+            double logV = Math.log(v);
+            if (logV < t - rho) {
+                return (int) y;
+            }
+            if (logV > t + rho) {
+                continue;
+            }
+
+            // Final acceptance test with Stirling's approximation
+            double x1 = y + 1;
+            double f1 = m + 1;
+            double z = n + 1 - m;
+            double w = n - y + 1;
+            double x2 = x1 * x1;
+            double f2 = f1 * f1;
+            double z2 = z * z;
+            double w2 = w * w;
+            double bound = xm * Math.log(f1 / x1)
+                    + (n - m + 0.5) * Math.log(z / w)
+                    + (y - m) * Math.log(w * r / (x1 * q))
+                    + stirlingCorrection(f1, f2)
+                    + stirlingCorrection(z, z2)
+                    + stirlingCorrection(x1, x2)
+                    + stirlingCorrection(w, w2);
+            if (logV <= bound) {
+                return (int) y;
+            }
+        }
+    }
+
+    private static double stirlingCorrection(double x, double x2) {
+        return (13860.0 - (462.0 - (132.0 - (99.0 - 140.0 / x2) / x2) / x2) / x2) / x / 166320.0;
+    }
+}
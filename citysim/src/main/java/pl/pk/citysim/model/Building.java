@@ -2,6 +2,7 @@ package pl.pk.citysim.model;
 public abstract class Building {
     private final int id;
     private int occupancy;
+    private final BuildingType type;
     protected final String name;
     protected final String description;
     protected final int capacity;
@@ -11,19 +12,18 @@ public abstract class Building {
     protected final int healthcareCapacity;
     protected final int utilityCapacity;
 
-    protected Building(int id, String name, String description, int capacity, int upkeep,
-                      int satisfactionImpact, int educationCapacity, int healthcareCapacity,
-                      int utilityCapacity) {
+    protected Building(int id, BuildingType type) {
         this.id = id;
         this.occupancy = 0;
-        this.name = name;
-        this.description = description;
-        this.capacity = capacity;
-        this.upkeep = upkeep;
-        this.satisfactionImpact = satisfactionImpact;
-        this.educationCapacity = educationCapacity;
-        this.healthcareCapacity = healthcareCapacity;
-        this.utilityCapacity = utilityCapacity;
+        this.type = type;
+        this.name = type.getTypeName();
+        this.description = type.getDescription();
+        this.capacity = type.getCapacity();
+        this.upkeep = type.getUpkeep();
+        this.satisfactionImpact = type.getSatisfactionImpact();
+        this.educationCapacity = type.getEducationCapacity();
+        this.healthcareCapacity = type.getHealthcareCapacity();
+        this.utilityCapacity = type.getUtilityCapacity();
     }
 
     public int getId() {
@@ -68,6 +68,11 @@ public abstract class Building {
         return utilityCapacity;
     }
 
+    // Null only for buildings created through the field-by-field constructor
+    public BuildingType getType() {
+        return type;
+    }
+
     public String getTypeName() {
         return name;
     }
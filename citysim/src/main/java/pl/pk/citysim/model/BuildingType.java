@@ -0,0 +1,131 @@
+package pl.pk.citysim.model;
+
+import java.util.function.IntFunction;
+
+// Registry of building types with their fixed stats and a direct factory, so creating a building
+// or looking up its cost needs neither reflection nor a throwaway instance
+public enum BuildingType {
+    RESIDENTIAL(ResidentialBuilding.class, ResidentialBuilding::new,
+            "Residential", "Houses families, increases population", 25, 5, 5, 0, 0, 0),
+    COMMERCIAL(CommercialBuilding.class, CommercialBuilding::new,
+            "Commercial", "Provides jobs and generates income", 15, 10, 2, 0, 0, 0),
+    INDUSTRIAL(IndustrialBuilding.class, IndustrialBuilding::new,
+            "Industrial", "Generates higher income but reduces satisfaction", 10, 20, -3, 0, 0, 0),
+    PARK(ParkBuilding.class, ParkBuilding::new,
+            "Park", "Increases satisfaction but generates no income", 0, 2, 8, 0, 0, 0),
+    SCHOOL(SchoolBuilding.class, SchoolBuilding::new,
+            "School", "Improves education and satisfaction", 0, 15, 6, 50, 0, 0),
+    HOSPITAL(HospitalBuilding.class, HospitalBuilding::new,
+            "Hospital", "Improves health and satisfaction", 0, 25, 7, 0, 60, 0),
+    WATER_PLANT(WaterPlantBuilding.class, WaterPlantBuilding::new,
+            "Water Plant", "Provides water to families", 0, 30, 3, 0, 0, 75),
+    POWER_PLANT(PowerPlantBuilding.class, PowerPlantBuilding::new,
+            "Power Plant", "Provides electricity to families", 0, 40, 2, 0, 0, 100);
+
+    private static final BuildingType[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final Class<? extends Building> buildingClass;
+    private final IntFunction<? extends Building> factory;
+    private final String typeName;
+    private final String description;
+    private final int capacity;
+    private final int upkeep;
+    private final int satisfactionImpact;
+    private final int educationCapacity;
+    private final int healthcareCapacity;
+    private final int utilityCapacity;
+
+    BuildingType(Class<? extends Building> buildingClass, IntFunction<? extends Building> factory,
+                 String typeName, String description, int capacity, int upkeep, int satisfactionImpact,
+                 int educationCapacity, int healthcareCapacity, int utilityCapacity) {
+        this.buildingClass = buildingClass;
+        this.factory = factory;
+        this.typeName = typeName;
+        this.description = description;
+        this.capacity = capacity;
+        this.upkeep = upkeep;
+        this.satisfactionImpact = satisfactionImpact;
+        this.educationCapacity = educationCapacity;
+        this.healthcareCapacity = healthcareCapacity;
+        this.utilityCapacity = utilityCapacity;
+    }
+
+    public static BuildingType of(Class<? extends Building> buildingClass) {
+        for (BuildingType type : VALUES) {
+            if (type.buildingClass == buildingClass) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown building class: " + buildingClass);
+    }
+
+    // Looks up a type by its command name (e.g. "WATER_PLANT"), ignoring case; null if there is none
+    public static BuildingType fromKey(String key) {
+        for (BuildingType type : VALUES) {
+            if (type.name().equalsIgnoreCase(key)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public static BuildingType ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // Looks up a type by its display name (e.g. "Water Plant"); null if there is none
+    public static BuildingType fromTypeName(String typeName) {
+        for (BuildingType type : VALUES) {
+            if (type.typeName.equals(typeName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public Building create(int id) {
+        return factory.apply(id);
+    }
+
+    public Class<? extends Building> getBuildingClass() {
+        return buildingClass;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getUpkeep() {
+        return upkeep;
+    }
+
+    public int getSatisfactionImpact() {
+        return satisfactionImpact;
+    }
+
+    public int getEducationCapacity() {
+        return educationCapacity;
+    }
+
+    public int getHealthcareCapacity() {
+        return healthcareCapacity;
+    }
+
+    public int getUtilityCapacity() {
+        return utilityCapacity;
+    }
+
+    // Initial cost before city size scaling: 10x daily upkeep
+    public int getBaseCost() {
+        return upkeep * 10;
+    }
+}
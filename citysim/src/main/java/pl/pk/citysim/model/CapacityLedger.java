@@ -0,0 +1,118 @@
+package pl.pk.citysim.model;
+
+// Running capacity totals, updated once per added building so daily phases never rescan the building list
+public class CapacityLedger {
+    private int housingCapacity;
+    private int commercialJobs;
+    private int industrialJobs;
+    private int educationCapacity;
+    private int healthcareCapacity;
+    private int waterCapacity;
+    private int powerCapacity;
+    private int satisfactionImpact;
+    private int buildingCount;
+    private final TypeTotals[] typeTotals; // Indexed by BuildingType ordinal, null until the first building of a type
+
+    public CapacityLedger() {
+        this.typeTotals = new TypeTotals[BuildingType.COUNT];
+    }
+
+    void record(Building building) {
+        BuildingType type = building.getType();
+        switch (type) {
+            case RESIDENTIAL -> housingCapacity += building.getCapacity();
+            case COMMERCIAL -> commercialJobs += building.getCapacity();
+            case INDUSTRIAL -> industrialJobs += building.getCapacity();
+            case SCHOOL -> educationCapacity += building.getEducationCapacity();
+            case HOSPITAL -> healthcareCapacity += building.getHealthcareCapacity();
+            case WATER_PLANT -> waterCapacity += building.getUtilityCapacity();
+            case POWER_PLANT -> powerCapacity += building.getUtilityCapacity();
+            default -> {
+            }
+        }
+        satisfactionImpact += building.getSatisfactionImpact();
+        buildingCount++;
+
+        TypeTotals totals = typeTotals[type.ordinal()];
+        if (totals == null) {
+            int serviceCapacity = building.getEducationCapacity() + building.getHealthcareCapacity()
+                    + building.getUtilityCapacity();
+            totals = new TypeTotals(building.getUpkeep(), serviceCapacity);
+            typeTotals[type.ordinal()] = totals;
+        }
+        totals.count++;
+    }
+
+    public int getHousingCapacity() {
+        return housingCapacity;
+    }
+
+    public int getCommercialJobs() {
+        return commercialJobs;
+    }
+
+    public int getIndustrialJobs() {
+        return industrialJobs;
+    }
+
+    public int getTotalJobs() {
+        return commercialJobs + industrialJobs;
+    }
+
+    public int getEducationCapacity() {
+        return educationCapacity;
+    }
+
+    public int getHealthcareCapacity() {
+        return healthcareCapacity;
+    }
+
+    public int getWaterCapacity() {
+        return waterCapacity;
+    }
+
+    public int getPowerCapacity() {
+        return powerCapacity;
+    }
+
+    public int getTotalSatisfactionImpact() {
+        return satisfactionImpact;
+    }
+
+    public int getBuildingCount() {
+        return buildingCount;
+    }
+
+    public TypeTotals getTypeTotals(BuildingType type) {
+        return typeTotals[type.ordinal()];
+    }
+
+    public TypeTotals getTypeTotals(String typeName) {
+        BuildingType type = BuildingType.fromTypeName(typeName);
+        return type != null ? typeTotals[type.ordinal()] : null;
+    }
+
+    // All buildings of one type share the same stats, so a type is fully described by its count
+    public static class TypeTotals {
+        private int count;
+        private final int unitUpkeep;
+        private final int unitServiceCapacity;
+
+        TypeTotals(int unitUpkeep, int unitServiceCapacity) {
+            this.unitUpkeep = unitUpkeep;
+            this.unitServiceCapacity = unitServiceCapacity;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getUnitUpkeep() {
+            return unitUpkeep;
+        }
+
+        public int getUnitServiceCapacity() {
+            return unitServiceCapacity;
+        }
+    }
+}
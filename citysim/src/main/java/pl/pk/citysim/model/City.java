@@ -1,12 +1,20 @@
 package pl.pk.citysim.model;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
 public class City {
+    private static final int EVENT_LOG_CAPACITY = 512;
+    private static final Event[] EVENTS = Event.values(); // values() returns a fresh copy on every call
+
     private String name;
     private int day;
     private int families; // Kept for backward compatibility
@@ -16,36 +24,39 @@ public class City {
     private double taxRate;
     private double vatRate;
     private final List<Building> buildings;
-    private final Map<String, Integer> buildingCounts;
-    private final List<String> eventLog;
+    private final List<Building> buildingsView;
+    private final int[] buildingCounts; // Indexed by BuildingType ordinal
+    private final Map<String, Integer> buildingCountsView;
+    private final CapacityLedger capacityLedger;
+    private EventSink eventSink;
+    private EventLog eventLog; // What the getters read; empty when the sink keeps no history
+    private EventHistory eventHistory; // Null when the sink has no EventHistory in front
+    private final double[] expensePayload;
     private int dailyIncome;
     private int dailyExpenses;
     private int dailySatisfactionIncrease;
     private int dailySatisfactionDecrease;
-    private final Random random = new Random();
+    private final RandomSource randomSource;
 
     public City() {
         this.name = "Unnamed City";
         this.day = 1;
         this.families = 0;
-        this.familyManager = new FamilyManager();
+        this.randomSource = new RandomSource(RandomSource.randomSeed());
+        this.familyManager = new FamilyManager(0, randomSource);
         this.budget = 0;
         this.satisfaction = 50;
         this.taxRate = 0.10;
         this.vatRate = 0.05;
         this.buildings = new ArrayList<>();
-        this.buildingCounts = new HashMap<>();
-        this.eventLog = new ArrayList<>();
+        this.buildingsView = Collections.unmodifiableList(buildings);
+        this.buildingCounts = new int[BuildingType.COUNT];
+        this.buildingCountsView = new BuildingCountsView();
+        this.capacityLedger = new CapacityLedger();
+        initEventSink(defaultEventSink());
+        this.expensePayload = new double[4 + BuildingType.COUNT];
         this.dailySatisfactionIncrease = 0;
         this.dailySatisfactionDecrease = 0;
-        buildingCounts.put("Residential", 0);
-        buildingCounts.put("Commercial", 0);
-        buildingCounts.put("Industrial", 0);
-        buildingCounts.put("Park", 0);
-        buildingCounts.put("School", 0);
-        buildingCounts.put("Hospital", 0);
-        buildingCounts.put("Water Plant", 0);
-        buildingCounts.put("Power Plant", 0);
     }
 
     public City(int initialFamilies, int initialBudget) {
@@ -53,74 +64,119 @@ public class City {
     }
 
     public City(String name, int initialFamilies, int initialBudget) {
+        this(name, initialFamilies, initialBudget, RandomSource.randomSeed());
+    }
+
+    public City(String name, int initialFamilies, int initialBudget, long seed) {
+        this(name, initialFamilies, initialBudget, seed, defaultEventSink());
+    }
+
+    public City(String name, int initialFamilies, int initialBudget, long seed, EventSink eventSink) {
         this.name = name;
         this.day = 1;
         this.families = initialFamilies; // Kept for backward compatibility
-        this.familyManager = new FamilyManager(initialFamilies);
+        this.randomSource = new RandomSource(seed);
+        this.familyManager = new FamilyManager(initialFamilies, randomSource);
         this.budget = initialBudget;
         this.satisfaction = 50; // Start with neutral satisfaction
         this.taxRate = 0.10; // 10% default income tax rate
         this.vatRate = 0.05; // 5% default VAT rate
         this.buildings = new ArrayList<>();
-        this.buildingCounts = new HashMap<>();
-        this.eventLog = new ArrayList<>();
+        this.buildingsView = Collections.unmodifiableList(buildings);
+        this.buildingCounts = new int[BuildingType.COUNT];
+        this.buildingCountsView = new BuildingCountsView();
+        this.capacityLedger = new CapacityLedger();
+        initEventSink(eventSink);
+        this.expensePayload = new double[4 + BuildingType.COUNT];
         this.dailySatisfactionIncrease = 0;
         this.dailySatisfactionDecrease = 0;
-        buildingCounts.put("Residential", 0);
-        buildingCounts.put("Commercial", 0);
-        buildingCounts.put("Industrial", 0);
-        buildingCounts.put("Park", 0);
-        buildingCounts.put("School", 0);
-        buildingCounts.put("Hospital", 0);
-        buildingCounts.put("Water Plant", 0);
-        buildingCounts.put("Power Plant", 0);
-        addInitialBuilding(ResidentialBuilding.class); // Housing for families
-        addInitialBuilding(SchoolBuilding.class);      // Education
-        addInitialBuilding(HospitalBuilding.class);    // Healthcare
-        addInitialBuilding(WaterPlantBuilding.class); // Water supply
-        addInitialBuilding(PowerPlantBuilding.class); // Power supply
-        eventLog.add("Day 1: City founded with " + initialFamilies + " families and $" + initialBudget + " budget.");
-        eventLog.add("Day 1: Initial infrastructure established (housing, school, hospital, water plant, power plant).");
+        addInitialBuilding(BuildingType.RESIDENTIAL); // Housing for families
+        addInitialBuilding(BuildingType.SCHOOL);      // Education
+        addInitialBuilding(BuildingType.HOSPITAL);    // Healthcare
+        addInitialBuilding(BuildingType.WATER_PLANT); // Water supply
+        addInitialBuilding(BuildingType.POWER_PLANT); // Power supply
+        eventSink.add(EventKind.CITY_FOUNDED, 1, initialFamilies, initialBudget);
+        eventSink.add(EventKind.INITIAL_INFRASTRUCTURE, 1);
+    }
+
+    // Empty city for snapshot loading; CitySnapshot fills in the state and buildings
+    City(String name, RandomSource randomSource, FamilyManager familyManager) {
+        this.name = name;
+        this.day = 1;
+        this.families = familyManager.getFamiliesCount();
+        this.randomSource = randomSource;
+        this.familyManager = familyManager;
+        this.budget = 0;
+        this.satisfaction = 50;
+        this.taxRate = 0.10;
+        this.vatRate = 0.05;
+        this.buildings = new ArrayList<>();
+        this.buildingsView = Collections.unmodifiableList(buildings);
+        this.buildingCounts = new int[BuildingType.COUNT];
+        this.buildingCountsView = new BuildingCountsView();
+        this.capacityLedger = new CapacityLedger();
+        initEventSink(defaultEventSink());
+        this.expensePayload = new double[4 + BuildingType.COUNT];
+        this.dailySatisfactionIncrease = 0;
+        this.dailySatisfactionDecrease = 0;
+    }
+
+    void restoreState(int day, int budget, int satisfaction, double taxRate, double vatRate, int dailyIncome,
+                      int dailyExpenses, int dailySatisfactionIncrease, int dailySatisfactionDecrease) {
+        this.day = day;
+        this.families = familyManager.getFamiliesCount();
+        this.budget = budget;
+        this.satisfaction = satisfaction;
+        this.taxRate = taxRate;
+        this.vatRate = vatRate;
+        this.dailyIncome = dailyIncome;
+        this.dailyExpenses = dailyExpenses;
+        this.dailySatisfactionIncrease = dailySatisfactionIncrease;
+        this.dailySatisfactionDecrease = dailySatisfactionDecrease;
+    }
+
+    int getDailySatisfactionIncrease() {
+        return dailySatisfactionIncrease;
+    }
+
+    int getDailySatisfactionDecrease() {
+        return dailySatisfactionDecrease;
     }
 
     public void nextDay() {
         day++;
-        eventLog.clear();
+        eventSink.startNewDay();
         dailySatisfactionIncrease = 0;
         dailySatisfactionDecrease = 0;
-        eventLog.add("Day " + day + ": === NEW DAY ===");
+        eventSink.add(EventKind.NEW_DAY, day);
 
+        SimulationMetrics metrics = SimulationMetrics.getInstance();
+        long start = System.nanoTime();
         calculateDailyIncome();
+        long mark = metrics.lap(SimulationMetrics.Phase.DAILY_INCOME, start);
         calculateDailyExpenses();
+        mark = metrics.lap(SimulationMetrics.Phase.DAILY_EXPENSES, mark);
         checkRandomEvents();
+        mark = metrics.lap(SimulationMetrics.Phase.RANDOM_EVENTS, mark);
         updateSatisfaction();
+        mark = metrics.lap(SimulationMetrics.Phase.SATISFACTION, mark);
         updatePopulation();
+        mark = metrics.lap(SimulationMetrics.Phase.POPULATION, mark);
+        metrics.record(SimulationMetrics.Phase.NEXT_DAY, mark - start);
     }
 
     private void checkRandomEvents() {
-        Random random = new Random();
+        RandomGenerator random = randomSource.stream(RandomSource.Phase.EVENTS, day);
         double eventChance = 0.05;
         if (families > 100) {
             eventChance = 0.10; // 10% for large cities
         } else if (families > 50) {
             eventChance = 0.07; // 7% for medium cities
         }
-        int educationCapacity = 0;
-        int healthcareCapacity = 0;
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-
-        for (Building building : buildings) {
-            if (building instanceof SchoolBuilding) {
-                educationCapacity += building.getEducationCapacity();
-            } else if (building instanceof HospitalBuilding) {
-                healthcareCapacity += building.getHealthcareCapacity();
-            } else if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
-        }
+        int educationCapacity = capacityLedger.getEducationCapacity();
+        int healthcareCapacity = capacityLedger.getHealthcareCapacity();
+        int waterCapacity = capacityLedger.getWaterCapacity();
+        int powerCapacity = capacityLedger.getPowerCapacity();
         double educationRatio = families > 0 ? Math.min(1.0, (double) educationCapacity / families) : 1.0;
         double healthcareRatio = families > 0 ? Math.min(1.0, (double) healthcareCapacity / families) : 1.0;
         double waterRatio = families > 0 ? Math.min(1.0, (double) waterCapacity / families) : 1.0;
@@ -130,7 +186,7 @@ public class City {
             eventChance += (0.7 - serviceRatio) * 0.1; // Up to +7% for very poor services
         }
         if (random.nextDouble() < eventChance) {
-            Event[] events = Event.values();
+            Event[] events = EVENTS;
             double negativeEventChance = 0.75; // Default 75% chance of negative event
             if (serviceRatio < 0.7) {
                 negativeEventChance += (0.7 - serviceRatio) * 0.3; // Up to +21% for very poor services
@@ -143,6 +199,7 @@ public class City {
             } else {
                 event = Event.GRANT;
             }
+            SimulationMetrics.getInstance().countEvent();
             switch (event) {
                 case FIRE:
                     handleFireEvent(random);
@@ -160,7 +217,7 @@ public class City {
         }
     }
 
-    private void handleFireEvent(Random random) {
+    private void handleFireEvent(RandomGenerator random) {
         if (buildings.isEmpty()) {
             return;
         }
@@ -173,16 +230,11 @@ public class City {
         } else if (families > 50) {
             damage = (int)(damage * 1.2); // 20% more damage for medium cities
         }
-        int waterPlantCount = buildingCounts.getOrDefault("Water Plant", 0);
+        int waterPlantCount = buildingCounts[BuildingType.WATER_PLANT.ordinal()];
         int damageReduction = 0; // Initialize damage reduction to 0
 
         if (waterPlantCount > 0) {
-            int waterCapacity = 0;
-            for (Building building : buildings) {
-                if (building instanceof WaterPlantBuilding) {
-                    waterCapacity += building.getUtilityCapacity();
-                }
-            }
+            int waterCapacity = capacityLedger.getWaterCapacity();
             double waterRatio = families > 0 ? Math.min(1.0, (double) waterCapacity / families) : 1.0;
             damageReduction = (int)(damage * waterRatio * 0.5);
             damage -= damageReduction;
@@ -200,15 +252,13 @@ public class City {
 
         // Log the event with appropriate message
         if (waterPlantCount > 0) {
-            eventLog.add(String.format("Day %d: FIRE! A %s caught fire. Water system helped reduce damage by $%d. Total damage: $%d.", 
-                    day, affectedBuilding.getTypeName(), damageReduction, damage));
+            eventSink.add(EventKind.FIRE_CONTAINED, day, affectedBuilding.getTypeName(), damageReduction, damage);
         } else {
-            eventLog.add(String.format("Day %d: FIRE! A %s caught fire, causing $%d in damages.", 
-                    day, affectedBuilding.getTypeName(), damage));
+            eventSink.add(EventKind.FIRE, day, affectedBuilding.getTypeName(), damage);
         }
     }
 
-    private void handleEpidemicEvent(Random random) {
+    private void handleEpidemicEvent(RandomGenerator random) {
         if (families <= 0) {
             return;
         }
@@ -229,12 +279,7 @@ public class City {
         }
 
         int healthcareCosts = affectedFamilies * baseCostPerFamily;
-        int hospitalCapacity = 0;
-        for (Building building : buildings) {
-            if (building instanceof HospitalBuilding) {
-                hospitalCapacity += building.getHealthcareCapacity();
-            }
-        }
+        int hospitalCapacity = capacityLedger.getHealthcareCapacity();
         double healthcareRatio = families > 0 ? Math.min(1.0, (double) hospitalCapacity / families) : 1.0;
         int costReduction = 0;
         int satisfactionImpact = 10; // Base impact
@@ -254,23 +299,21 @@ public class City {
 
         // Log the event with appropriate message
         if (hospitalCapacity > 0) {
-            eventLog.add(String.format("Day %d: EPIDEMIC! %d families affected. Hospitals reduced costs by $%d. Total cost: $%d.", 
-                    day, affectedFamilies, costReduction, healthcareCosts));
+            eventSink.add(EventKind.EPIDEMIC_CONTAINED, day, affectedFamilies, costReduction, healthcareCosts);
         } else {
-            eventLog.add(String.format("Day %d: EPIDEMIC! %d families affected, costing $%d. No hospitals to help!", 
-                    day, affectedFamilies, healthcareCosts));
+            eventSink.add(EventKind.EPIDEMIC, day, affectedFamilies, healthcareCosts);
         }
     }
 
-    private void handleEconomicCrisisEvent(Random random) {
+    private void handleEconomicCrisisEvent(RandomGenerator random) {
         int baseImpactPercentage = 5 + random.nextInt(11);
         if (families > 100) {
             baseImpactPercentage += 5; // +5% more for large cities
         } else if (families > 50) {
             baseImpactPercentage += 3; // +3% for medium cities
         }
-        int commercialCount = buildingCounts.getOrDefault("Commercial", 0);
-        int industrialCount = buildingCounts.getOrDefault("Industrial", 0);
+        int commercialCount = buildingCounts[BuildingType.COMMERCIAL.ordinal()];
+        int industrialCount = buildingCounts[BuildingType.INDUSTRIAL.ordinal()];
         double commercialRatio = 0.5; // Default balanced ratio
         int totalJobBuildings = commercialCount + industrialCount;
         if (totalJobBuildings > 0) {
@@ -301,11 +344,10 @@ public class City {
             severityIndicator = "MAJOR ";
         }
 
-        eventLog.add(String.format("Day %d: %sECONOMIC CRISIS! The city lost $%d (%.1f%% of budget) due to market instability.", 
-                day, severityIndicator, economicImpact, impactRatio * 100));
+        eventSink.add(EventKind.ECONOMIC_CRISIS, day, severityIndicator, economicImpact, impactRatio * 100);
     }
 
-    private void handleGrantEvent(Random random) {
+    private void handleGrantEvent(RandomGenerator random) {
         int baseGrantPercentage = 10 + random.nextInt(11);
         if (families > 100) {
             baseGrantPercentage -= 5; // -5% total for large cities (-2% and -3%)
@@ -335,49 +377,43 @@ public class City {
             sizeIndicator = "SIGNIFICANT ";
         }
 
-        eventLog.add(String.format("Day %d: %sGRANT! The city received a $%d grant (%.1f%% of budget) from the government.", 
-                day, sizeIndicator, grantAmount, grantRatio * 100));
+        eventSink.add(EventKind.GRANT, day, sizeIndicator, grantAmount, grantRatio * 100);
     }
 
-    private Building createBuilding(int id, Class<? extends Building> clazz) {
-        try {
-            return clazz.getConstructor(int.class).newInstance(id);
-        } catch (Exception e) {
-            throw new RuntimeException("Unable to create building", e);
-        }
+    public Building addBuilding(BuildingType type, int cost) {
+        return placeBuilding(type, cost);
     }
 
-    public Building addBuilding(Class<? extends Building> clazz, int cost) {
+    // Private so the constructors can build the initial infrastructure without calling an overridable method
+    private Building placeBuilding(BuildingType type, int cost) {
         int id = buildings.size() + 1;
-        Building building = createBuilding(id, clazz);
+        Building building = type.create(id);
         buildings.add(building);
-        String typeName = building.getTypeName();
-        int count = buildingCounts.getOrDefault(typeName, 0);
-        buildingCounts.put(typeName, count + 1);
+        capacityLedger.record(building);
+        buildingCounts[type.ordinal()]++;
         budget -= cost;
 
         return building;
     }
 
+    public Building addBuilding(BuildingType type) {
+        return addBuilding(type, type.getBaseCost());
+    }
+
+    public Building addBuilding(Class<? extends Building> clazz, int cost) {
+        return addBuilding(BuildingType.of(clazz), cost);
+    }
 
     public Building addBuilding(Class<? extends Building> clazz) {
-        try {
-            Building temp = clazz.getConstructor(int.class).newInstance(0);
-            return addBuilding(clazz, temp.getUpkeep() * 10);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create building", e);
-        }
+        return addBuilding(BuildingType.of(clazz));
     }
 
-    private Building addInitialBuilding(Class<? extends Building> clazz) {
-        int id = buildings.size() + 1;
-        Building building = createBuilding(id, clazz);
-        buildings.add(building);
-        String typeName = building.getTypeName();
-        int count = buildingCounts.getOrDefault(typeName, 0);
-        buildingCounts.put(typeName, count + 1);
+    private Building addInitialBuilding(BuildingType type) {
+        return placeBuilding(type, 0);
+    }
 
-        return building;
+    void restoreBuilding(BuildingType type, int occupancy) {
+        placeBuilding(type, 0).setOccupancy(occupancy);
     }
 
     private void calculateDailyIncome() {
@@ -386,27 +422,17 @@ public class City {
             dailyIncome = 0;
             return;
         }
-        int commercialCount = buildingCounts.getOrDefault("Commercial", 0);
-        int industrialCount = buildingCounts.getOrDefault("Industrial", 0);
+        int commercialCount = buildingCounts[BuildingType.COMMERCIAL.ordinal()];
+        int industrialCount = buildingCounts[BuildingType.INDUSTRIAL.ordinal()];
         double jobQualityRatio = 0.0;
         int totalJobBuildings = commercialCount + industrialCount;
         if (totalJobBuildings > 0) {
             jobQualityRatio = (double) commercialCount / totalJobBuildings;
         }
-        int commercialJobs = 0;
-        int industrialJobs = 0;
-        for (Building building : buildings) {
-            if (building instanceof CommercialBuilding) {
-                commercialJobs += building.getCapacity();
-            } else if (building instanceof IndustrialBuilding) {
-                industrialJobs += building.getCapacity();
-            }
-        }
-        int totalJobs = commercialJobs + industrialJobs;
+        int totalJobs = capacityLedger.getTotalJobs();
         double jobRatio = Math.min(1.0, (double) totalJobs / familiesCount);
         if (jobRatio < 1.0) {
-            eventLog.add(String.format("Day %d: Job shortage (%.1f%% coverage) reducing family income", 
-                    day, jobRatio * 100));
+            eventSink.add(EventKind.JOB_SHORTAGE, day, jobRatio * 100);
         }
         double difficultyScaling = 1.0;
         if (familiesCount > 50) {
@@ -421,31 +447,18 @@ public class City {
 
         // Log difficulty scaling if it's applied
         if (difficultyScaling < 1.0) {
-            eventLog.add(String.format("Day %d: City size difficulty scaling applied (%.0f%% income efficiency)", 
-                    day, difficultyScaling * 100));
-        }
-        int educationCapacity = 0;
-        for (Building building : buildings) {
-            if (building instanceof SchoolBuilding) {
-                educationCapacity += building.getEducationCapacity();
-            }
+            eventSink.add(EventKind.INCOME_SCALING, day, difficultyScaling * 100);
         }
+        int educationCapacity = capacityLedger.getEducationCapacity();
         double educationRatio = Math.min(1.0, (double) educationCapacity / familiesCount);
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-        for (Building building : buildings) {
-            if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
-        }
+        int waterCapacity = capacityLedger.getWaterCapacity();
+        int powerCapacity = capacityLedger.getPowerCapacity();
 
         double waterRatio = Math.min(1.0, (double) waterCapacity / familiesCount);
         double powerRatio = Math.min(1.0, (double) powerCapacity / familiesCount);
         if (waterRatio < 0.8 || powerRatio < 0.8) {
             double worstUtilityRatio = Math.min(waterRatio, powerRatio);
-            eventLog.add(String.format("Day %d: Utility shortage reducing family income", day));
+            eventSink.add(EventKind.UTILITY_INCOME_PENALTY, day);
         }
         familyManager.calculateFamilyIncomes(jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
         int totalFamilyIncome = familyManager.getTotalIncome();
@@ -460,16 +473,11 @@ public class City {
         budget += totalTaxRevenue;
 
         // Log tax collection with more details
-        eventLog.add(String.format("Day %d: Collected $%d in income tax and $%d in VAT.", 
-                day, incomeTaxRevenue, vatRevenue));
+        eventSink.add(EventKind.TAXES_COLLECTED, day, incomeTaxRevenue, vatRevenue);
     }
 
     private void calculateDailyExpenses() {
         int buildingUpkeep = 0;
-        Map<String, Integer> upkeepByType = new HashMap<>();
-        buildingCounts.keySet().forEach(typeName -> {
-            upkeepByType.put(typeName, 0);
-        });
         double scaleFactor = 1.0;
         if (families > 50) {
             scaleFactor = 1.15; // 15% increase for medium cities (was 10%)
@@ -494,28 +502,27 @@ public class City {
 
         // Log difficulty scaling if it's applied
         if (difficultyScaling > 1.0) {
-            eventLog.add(String.format("Day %d: City size difficulty scaling applied (%.0f%% expense increase)", 
-                    day, (difficultyScaling - 1.0) * 100));
-        }
-        for (Building building : buildings) {
-            String typeName = building.getTypeName();
-            int baseUpkeep = building.getUpkeep();
-            int scaledUpkeep = (int) (baseUpkeep * scaleFactor);
-            if (building instanceof SchoolBuilding || building instanceof HospitalBuilding || 
-                building instanceof WaterPlantBuilding || building instanceof PowerPlantBuilding) {
+            eventSink.add(EventKind.EXPENSE_SCALING, day, (difficultyScaling - 1.0) * 100);
+        }
+        for (int i = 0; i < BuildingType.COUNT; i++) {
+            expensePayload[4 + i] = 0;
+            CapacityLedger.TypeTotals totals = capacityLedger.getTypeTotals(BuildingType.ofOrdinal(i));
+            if (totals == null) {
+                continue;
+            }
+            int scaledUpkeep = (int) (totals.getUnitUpkeep() * scaleFactor);
+            // Service buildings (school, hospital, water, power) cost more the more families they serve
+            if (totals.getUnitServiceCapacity() > 0) {
                 double usageRatio = 0.0;
-                if (building instanceof SchoolBuilding && families > 0) {
-                    usageRatio = Math.min(1.0, (double) families / building.getEducationCapacity());
-                } else if (building instanceof HospitalBuilding && families > 0) {
-                    usageRatio = Math.min(1.0, (double) families / building.getHealthcareCapacity());
-                } else if ((building instanceof WaterPlantBuilding || building instanceof PowerPlantBuilding) && families > 0) {
-                    usageRatio = Math.min(1.0, (double) families / building.getUtilityCapacity());
+                if (families > 0) {
+                    usageRatio = Math.min(1.0, (double) families / totals.getUnitServiceCapacity());
                 }
                 double usageMultiplier = 0.5 + (usageRatio * 1.0);
                 scaledUpkeep = (int) (scaledUpkeep * usageMultiplier);
             }
-            buildingUpkeep += scaledUpkeep;
-            upkeepByType.put(typeName, upkeepByType.get(typeName) + scaledUpkeep);
+            int typeUpkeep = scaledUpkeep * totals.getCount();
+            buildingUpkeep += typeUpkeep;
+            expensePayload[4 + i] = typeUpkeep;
         }
         int baseCityServicesCost = 15; // Base cost per day (increased from 10)
         int perFamilyCost = 3; // Base cost per family (increased from 2)
@@ -529,22 +536,15 @@ public class City {
             perFamilyCost = 8; // Highest cost for very large cities (new tier)
         }
         int cityServicesCost = baseCityServicesCost + (families * perFamilyCost);
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-        for (Building building : buildings) {
-            if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
-        }
+        int waterCapacity = capacityLedger.getWaterCapacity();
+        int powerCapacity = capacityLedger.getPowerCapacity();
         double waterUsageRatio = families > 0 && waterCapacity > 0 ? 
                 Math.min(1.0, (double) families / waterCapacity) : 0.0;
         double powerUsageRatio = families > 0 && powerCapacity > 0 ? 
                 Math.min(1.0, (double) families / powerCapacity) : 0.0;
         int utilityOperationCost = 0;
-        int waterPlantCount = buildingCounts.getOrDefault("Water Plant", 0);
-        int powerPlantCount = buildingCounts.getOrDefault("Power Plant", 0);
+        int waterPlantCount = buildingCounts[BuildingType.WATER_PLANT.ordinal()];
+        int powerPlantCount = buildingCounts[BuildingType.POWER_PLANT.ordinal()];
 
         if (waterPlantCount > 0) {
             int waterCost = 8 + (int)(families * waterUsageRatio * 0.3);
@@ -560,35 +560,15 @@ public class City {
         budget -= totalExpenses;
 
         // Log expenses with more detail
-        StringBuilder expenseLog = new StringBuilder();
-        expenseLog.append(String.format("Day %d: Expenses breakdown:\n", day));
-        expenseLog.append(String.format("- Building upkeep: $%d\n", buildingUpkeep));
-
-        // Log upkeep by building type if there are buildings
-        if (!buildings.isEmpty()) {
-            for (String typeName : buildingCounts.keySet()) {
-                int typeUpkeep = upkeepByType.get(typeName);
-                if (typeUpkeep > 0) {
-                    expenseLog.append(String.format("  - %s: $%d\n", typeName, typeUpkeep));
-                }
-            }
-        }
-
-        expenseLog.append(String.format("- City services: $%d\n", cityServicesCost));
-
-        if (utilityOperationCost > 0) {
-            expenseLog.append(String.format("- Utility operations: $%d\n", utilityOperationCost));
-        }
-
-        expenseLog.append(String.format("Total daily expenses: $%d", totalExpenses));
-        eventLog.add(expenseLog.toString());
+        expensePayload[0] = buildingUpkeep;
+        expensePayload[1] = cityServicesCost;
+        expensePayload[2] = utilityOperationCost;
+        expensePayload[3] = totalExpenses;
+        eventSink.add(EventKind.EXPENSES, day, expensePayload, expensePayload.length);
     }
 
     private void updateSatisfaction() {
-        int satisfactionChange = 0;
-        for (Building building : buildings) {
-            satisfactionChange += building.getSatisfactionImpact();
-        }
+        int satisfactionChange = capacityLedger.getTotalSatisfactionImpact();
         double defaultIncomeTax = 0.10; // 10% default rate
         double defaultVAT = 0.05; // 5% default rate
         double incomeTaxDeviation = Math.max(0, taxRate - defaultIncomeTax);
@@ -603,41 +583,26 @@ public class City {
 
         // Log significant tax impacts
         if (incomeTaxDeviation > 0 || vatDeviation > 0) {
-            eventLog.add(String.format("Day %d: High tax rates reducing satisfaction (Income Tax: -%d, VAT: -%d)", 
-                    day, incomeTaxImpact, vatImpact));
-        }
-        int educationCapacity = 0;
-        int healthcareCapacity = 0;
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-
-        for (Building building : buildings) {
-            if (building instanceof SchoolBuilding) {
-                educationCapacity += building.getEducationCapacity();
-            } else if (building instanceof HospitalBuilding) {
-                healthcareCapacity += building.getHealthcareCapacity();
-            } else if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
+            eventSink.add(EventKind.HIGH_TAXES, day, incomeTaxImpact, vatImpact);
         }
+        int educationCapacity = capacityLedger.getEducationCapacity();
+        int healthcareCapacity = capacityLedger.getHealthcareCapacity();
+        int waterCapacity = capacityLedger.getWaterCapacity();
+        int powerCapacity = capacityLedger.getPowerCapacity();
         int educationPenalty = 0;
         int healthcarePenalty = 0;
         int utilityPenalty = 0;
         if (educationCapacity < families) {
             double educationRatio = (double) educationCapacity / families;
             educationPenalty = (int) ((1 - educationRatio) * 25);
-            String severityLevel = educationRatio < 0.5 ? "CRITICAL" : "WARNING";
-            eventLog.add(String.format("Day %d: %s - Not enough schools! Education capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d", 
-                    day, severityLevel, educationCapacity, families, educationRatio * 100, educationPenalty));
+            EventKind shortage = educationRatio < 0.5 ? EventKind.EDUCATION_SHORTAGE_CRITICAL : EventKind.EDUCATION_SHORTAGE;
+            eventSink.add(shortage, day, educationCapacity, families, educationRatio * 100, educationPenalty);
         }
         if (healthcareCapacity < families) {
             double healthcareRatio = (double) healthcareCapacity / families;
             healthcarePenalty = (int) ((1 - healthcareRatio) * 30);
-            String severityLevel = healthcareRatio < 0.5 ? "CRITICAL" : "WARNING";
-            eventLog.add(String.format("Day %d: %s - Not enough hospitals! Healthcare capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d", 
-                    day, severityLevel, healthcareCapacity, families, healthcareRatio * 100, healthcarePenalty));
+            EventKind shortage = healthcareRatio < 0.5 ? EventKind.HEALTHCARE_SHORTAGE_CRITICAL : EventKind.HEALTHCARE_SHORTAGE;
+            eventSink.add(shortage, day, healthcareCapacity, families, healthcareRatio * 100, healthcarePenalty);
         }
         if (waterCapacity < families || powerCapacity < families) {
             double waterRatio = (double) waterCapacity / families;
@@ -646,19 +611,16 @@ public class City {
             utilityPenalty = (int) ((1 - worstUtilityRatio) * 40);
 
             if (waterCapacity < families) {
-                String severityLevel = waterRatio < 0.6 ? "CRITICAL" : "WARNING";
-                eventLog.add(String.format("Day %d: %s - Not enough water supply! Water capacity: %d/%d families (%.1f%%)", 
-                        day, severityLevel, waterCapacity, families, waterRatio * 100));
+                EventKind shortage = waterRatio < 0.6 ? EventKind.WATER_SHORTAGE_CRITICAL : EventKind.WATER_SHORTAGE;
+                eventSink.add(shortage, day, waterCapacity, families, waterRatio * 100);
             }
 
             if (powerCapacity < families) {
-                String severityLevel = powerRatio < 0.6 ? "CRITICAL" : "WARNING";
-                eventLog.add(String.format("Day %d: %s - Not enough power supply! Power capacity: %d/%d families (%.1f%%)", 
-                        day, severityLevel, powerCapacity, families, powerRatio * 100));
+                EventKind shortage = powerRatio < 0.6 ? EventKind.POWER_SHORTAGE_CRITICAL : EventKind.POWER_SHORTAGE;
+                eventSink.add(shortage, day, powerCapacity, families, powerRatio * 100);
             }
 
-            eventLog.add(String.format("Day %d: Utility shortage causing a satisfaction penalty of -%d", 
-                    day, utilityPenalty));
+            eventSink.add(EventKind.UTILITY_SATISFACTION_PENALTY, day, utilityPenalty);
         }
         satisfactionChange -= (educationPenalty + healthcarePenalty + utilityPenalty);
         int serviceQuality = 0;
@@ -680,42 +642,19 @@ public class City {
         }
 
         // Log satisfaction change
-        eventLog.add(String.format("Day %d: Satisfaction level is now %d%%.", day, satisfaction));
+        eventSink.add(EventKind.SATISFACTION_LEVEL, day, satisfaction);
     }
 
     private void updatePopulation() {
-        int housingCapacity = 0;
-        for (Building building : buildings) {
-            if (building instanceof ResidentialBuilding) {
-                housingCapacity += building.getCapacity();
-            }
-        }
+        int housingCapacity = capacityLedger.getHousingCapacity();
         int familiesCount = familyManager.getFamiliesCount();
         double housingOccupancyRatio = housingCapacity > 0 ? (double) familiesCount / housingCapacity : 1.0;
         boolean isOvercrowded = housingOccupancyRatio > 0.9;
-        int availableJobs = 0;
-        for (Building building : buildings) {
-            if (building instanceof CommercialBuilding || 
-                building instanceof IndustrialBuilding) {
-                availableJobs += building.getCapacity();
-            }
-        }
-        int educationCapacity = 0;
-        int healthcareCapacity = 0;
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-
-        for (Building building : buildings) {
-            if (building instanceof SchoolBuilding) {
-                educationCapacity += building.getEducationCapacity();
-            } else if (building instanceof HospitalBuilding) {
-                healthcareCapacity += building.getHealthcareCapacity();
-            } else if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
-        }
+        int availableJobs = capacityLedger.getTotalJobs();
+        int educationCapacity = capacityLedger.getEducationCapacity();
+        int healthcareCapacity = capacityLedger.getHealthcareCapacity();
+        int waterCapacity = capacityLedger.getWaterCapacity();
+        int powerCapacity = capacityLedger.getPowerCapacity();
         double educationRatio = familiesCount > 0 ? Math.min(1.0, (double) educationCapacity / familiesCount) : 1.0;
         double healthcareRatio = familiesCount > 0 ? Math.min(1.0, (double) healthcareCapacity / familiesCount) : 1.0;
         double waterRatio = familiesCount > 0 ? Math.min(1.0, (double) waterCapacity / familiesCount) : 1.0;
@@ -742,14 +681,12 @@ public class City {
         }
         if (incomeTaxDeviation > 0) {
             arrivalChance -= incomeTaxDeviation * 0.8; // Stronger penalty for exceeding default income tax
-            eventLog.add(String.format("Day %d: High income tax (%.1f%% above default) reducing family arrival chance", 
-                    day, incomeTaxDeviation * 100));
+            eventSink.add(EventKind.HIGH_INCOME_TAX_ARRIVALS, day, incomeTaxDeviation * 100);
         }
 
         if (vatDeviation > 0) {
             arrivalChance -= vatDeviation * 0.6; // Stronger penalty for exceeding default VAT
-            eventLog.add(String.format("Day %d: High VAT (%.1f%% above default) reducing family arrival chance", 
-                    day, vatDeviation * 100));
+            eventSink.add(EventKind.HIGH_VAT_ARRIVALS, day, vatDeviation * 100);
         }
         if (educationRatio < 0.5) {
             arrivalChance -= (0.5 - educationRatio) * 0.3; // Up to -15% for poor education
@@ -766,30 +703,26 @@ public class City {
 
         if (availableHousing <= 0) {
             arrivalChance = 0; // No chance if no housing available
-            eventLog.add(String.format("Day %d: WARNING - No available housing! New families cannot move in.", day));
+            eventSink.add(EventKind.NO_HOUSING, day);
         } else if (isOvercrowded) {
             double reductionFactor = (housingOccupancyRatio - 0.9) * 10; // 0 to 1 as occupancy goes from 90% to 100%
             arrivalChance *= (1 - reductionFactor);
-            eventLog.add(String.format("Day %d: NOTICE - Housing nearly full (%.1f%% occupied). Fewer families moving in.", 
-                    day, housingOccupancyRatio * 100));
+            eventSink.add(EventKind.HOUSING_NEARLY_FULL, day, housingOccupancyRatio * 100);
         }
         int maxNewFamilies = availableHousing;
         arrivalChance = Math.max(0, Math.min(1, arrivalChance));
-        Random random = new Random();
+        RandomGenerator random = randomSource.stream(RandomSource.Phase.POPULATION, day);
         int newFamilies = 0;
         int maxAttempts = 5; // Default max attempts
         if (satisfaction > 90 && availableHousing >= 100) {
             maxAttempts = 50; // Up to 50 families when satisfaction > 90%
-            eventLog.add(String.format("Day %d: EXCELLENT - Very high satisfaction (>90%%) attracting many new families!", day));
+            eventSink.add(EventKind.EXCELLENT_SATISFACTION, day);
         } else if (satisfaction > 85 && availableHousing >= 100) {
             maxAttempts = 30; // Up to 30 families when satisfaction > 85%
-            eventLog.add(String.format("Day %d: GREAT - High satisfaction (>85%%) attracting more new families!", day));
-        }
-        for (int i = 0; i < maxAttempts && newFamilies < maxNewFamilies; i++) {
-            if (random.nextDouble() < arrivalChance) {
-                newFamilies++;
-            }
+            eventSink.add(EventKind.GREAT_SATISFACTION, day);
         }
+        // Each attempt succeeds with arrivalChance; stopping at the housing limit is the same as capping the count
+        newFamilies = Math.min(maxNewFamilies, BinomialSampler.sample(random, maxAttempts, arrivalChance));
         int departures = 0;
         double baseDepartureChance = 0.0;
         if (satisfaction < 50) {
@@ -798,29 +731,24 @@ public class City {
         double serviceDepartureChance = 0.0;
         if (waterRatio < 0.5 || powerRatio < 0.5) {
             serviceDepartureChance += 0.15; // 15% chance due to critical utility shortage
-            eventLog.add(String.format("Day %d: CRITICAL - Severe utility shortage causing families to leave!", day));
+            eventSink.add(EventKind.UTILITY_EXODUS, day);
         }
         if (educationRatio < 0.4) {
             serviceDepartureChance += 0.1; // 10% chance due to education shortage
-            eventLog.add(String.format("Day %d: CRITICAL - Severe education shortage causing families to leave!", day));
+            eventSink.add(EventKind.EDUCATION_EXODUS, day);
         }
         if (healthcareRatio < 0.4) {
             serviceDepartureChance += 0.1; // 10% chance due to healthcare shortage
-            eventLog.add(String.format("Day %d: CRITICAL - Severe healthcare shortage causing families to leave!", day));
+            eventSink.add(EventKind.HEALTHCARE_EXODUS, day);
         }
         if (isOvercrowded) {
             double overcrowdingFactor = (housingOccupancyRatio - 0.9) * 10; // 0 to 1 as occupancy goes from 90% to 100%
             double overcrowdingChance = 0.1 * overcrowdingFactor; // Up to 10% additional departure chance
             serviceDepartureChance += overcrowdingChance;
-            eventLog.add(String.format("Day %d: WARNING - Housing overcrowding (%.1f%% occupied) causing families to leave!", 
-                    day, housingOccupancyRatio * 100));
+            eventSink.add(EventKind.OVERCROWDING, day, housingOccupancyRatio * 100);
         }
         double departureChance = Math.min(0.5, baseDepartureChance + serviceDepartureChance); // Cap at 50%
-        for (int i = 0; i < familiesCount; i++) {
-            if (random.nextDouble() < departureChance) {
-                departures++;
-            }
-        }
+        departures = BinomialSampler.sample(random, familiesCount, departureChance);
         int oldFamilies = familiesCount;
         for (int i = 0; i < newFamilies; i++) {
             familyManager.addFamily();
@@ -831,18 +759,18 @@ public class City {
             int excess = familiesCount - housingCapacity;
             familyManager.removeFamilies(excess);
             familiesCount = familyManager.getFamiliesCount();
-            eventLog.add(String.format("Day %d: CRITICAL - %d families couldn't find housing and left the city!", 
-                    day, excess));
+            eventSink.add(EventKind.HOMELESS_DEPARTURES, day, excess);
         }
         families = familiesCount;
+        SimulationMetrics.getInstance().countFamilies(newFamilies, oldFamilies - familiesCount + newFamilies);
 
         // Log population changes
         if (newFamilies > 0) {
-            eventLog.add(String.format("Day %d: %d new families moved to the city.", day, newFamilies));
+            eventSink.add(EventKind.FAMILIES_ARRIVED, day, newFamilies);
         }
 
         if (departures > 0) {
-            eventLog.add(String.format("Day %d: %d families left the city.", day, departures));
+            eventSink.add(EventKind.FAMILIES_LEFT, day, departures);
         }
 
         // Log satisfaction impact on population movement
@@ -857,15 +785,13 @@ public class City {
             } else {
                 satisfactionImpact = "very low satisfaction is causing many residents to leave";
             }
-            eventLog.add(String.format("Day %d: Current satisfaction level (%d%%) - %s.", day, satisfaction, satisfactionImpact));
+            eventSink.add(EventKind.SATISFACTION_TREND, day, satisfactionImpact, satisfaction);
         }
 
         if (families > oldFamilies) {
-            eventLog.add(String.format("Day %d: Population increased to %d families (%.1f%% housing capacity).", 
-                    day, families, families * 100.0 / housingCapacity));
+            eventSink.add(EventKind.POPULATION_INCREASED, day, families, families * 100.0 / housingCapacity);
         } else if (families < oldFamilies) {
-            eventLog.add(String.format("Day %d: Population decreased to %d families (%.1f%% housing capacity).", 
-                    day, families, housingCapacity > 0 ? families * 100.0 / housingCapacity : 0));
+            eventSink.add(EventKind.POPULATION_DECREASED, day, families, housingCapacity > 0 ? families * 100.0 / housingCapacity : 0);
         }
     }
 
@@ -882,15 +808,15 @@ public class City {
         if (this.taxRate > oldRate) {
             int satisfactionChange = (int)((this.taxRate - oldRate) * -500);
             int actualChange = updateSatisfactionValue(satisfactionChange);
-            eventLog.add(String.format("Day %d: Tax increase reduced satisfaction by %d points.", day, -actualChange));
+            eventSink.add(EventKind.TAX_INCREASE, day, -actualChange);
         } else if (this.taxRate < oldRate) {
             int satisfactionChange = (int)((oldRate - this.taxRate) * 100);
             int actualChange = updateSatisfactionValue(satisfactionChange);
-            eventLog.add(String.format("Day %d: Tax decrease improved satisfaction by %d points.", day, actualChange));
+            eventSink.add(EventKind.TAX_DECREASE, day, actualChange);
         }
 
         // Log income tax rate change
-        eventLog.add(String.format("Day %d: Income tax rate set to %.1f%%.", day, this.taxRate * 100));
+        eventSink.add(EventKind.INCOME_TAX_SET, day, this.taxRate * 100);
     }
 
     public int getDay() {
@@ -901,6 +827,14 @@ public class City {
         return familyManager.getFamiliesCount();
     }
 
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    public long getSeed() {
+        return randomSource.getSeed();
+    }
+
     public FamilyManager getFamilyManager() {
         return familyManager;
     }
@@ -967,44 +901,85 @@ public class City {
         if (this.vatRate > oldRate) {
             int satisfactionChange = (int)((this.vatRate - oldRate) * -80);
             int actualChange = updateSatisfactionValue(satisfactionChange);
-            eventLog.add(String.format("Day %d: VAT increase reduced satisfaction by %d points.", day, -actualChange));
+            eventSink.add(EventKind.VAT_INCREASE, day, -actualChange);
         } else if (this.vatRate < oldRate) {
             int satisfactionChange = (int)((oldRate - this.vatRate) * 40);
             int actualChange = updateSatisfactionValue(satisfactionChange);
-            eventLog.add(String.format("Day %d: VAT decrease improved satisfaction by %d points.", day, actualChange));
+            eventSink.add(EventKind.VAT_DECREASE, day, actualChange);
         }
 
         // Log VAT rate change
-        eventLog.add(String.format("Day %d: VAT rate set to %.1f%%.", day, this.vatRate * 100));
+        eventSink.add(EventKind.VAT_SET, day, this.vatRate * 100);
     }
 
     public List<Building> getBuildings() {
         return new ArrayList<>(buildings);
     }
 
+    // Read-only live view, no copy; reflects buildings added later
+    public List<Building> getBuildingsView() {
+        return buildingsView;
+    }
+
+    public int getTotalBuildingCount() {
+        return buildings.size();
+    }
+
+    public CapacityLedger getCapacityLedger() {
+        return capacityLedger;
+    }
+
+    public int getBuildingCount(BuildingType type) {
+        return buildingCounts[type.ordinal()];
+    }
+
+    // Read-only live view keyed by display name, in BuildingType order
     public Map<String, Integer> getBuildingCounts() {
-        return new HashMap<>(buildingCounts);
+        return buildingCountsView;
     }
 
+    // Event text is rendered on demand; the returned lists are detached copies.
+    // Readers that only need a few entries can walk getEvents() by index instead.
     public List<String> getEventLog() {
-        return new ArrayList<>(eventLog);
+        return eventLog.renderCurrent();
     }
 
     public List<String> getRecentEvents() {
-        return eventLog;
+        return eventLog.renderCurrent();
     }
 
     public List<String> getEventsByDay(int day) {
-        List<String> dayEvents = new ArrayList<>();
-        String dayPrefix = "Day " + day + ":";
+        return eventHistory != null ? eventHistory.renderDay(day) : eventLog.renderDay(day);
+    }
 
-        for (String event : eventLog) {
-            if (event.startsWith(dayPrefix)) {
-                dayEvents.add(event);
-            }
-        }
+    public EventLog getEvents() {
+        return eventLog;
+    }
+
+    public EventSink getEventSink() {
+        return eventSink;
+    }
+
+    public EventHistory getEventHistory() {
+        return eventHistory;
+    }
+
+    // Later events go to sink. An EventHistory in front of it answers getEventsByDay; an EventLog
+    // (on its own or behind the history) backs getEvents() and the other event getters.
+    public void setEventSink(EventSink eventSink) {
+        initEventSink(eventSink);
+    }
 
-        return dayEvents;
+    // Shared with the constructors, which must not call the overridable setter
+    private void initEventSink(EventSink eventSink) {
+        this.eventSink = eventSink;
+        this.eventHistory = eventSink instanceof EventHistory history ? history : null;
+        EventSink store = eventHistory != null ? eventHistory.getNext() : eventSink;
+        this.eventLog = store instanceof EventLog log ? log : new EventLog(1);
+    }
+
+    private static EventSink defaultEventSink() {
+        return new EventHistory(EventHistory.DEFAULT_RETENTION_DAYS, new EventLog(EVENT_LOG_CAPACITY));
     }
 
     public List<String> getCurrentDayEvents() {
@@ -1026,4 +1001,50 @@ public class City {
     public void setName(String name) {
         this.name = name;
     }
+
+    private final class BuildingCountsView extends AbstractMap<String, Integer> {
+        private final Set<Map.Entry<String, Integer>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < BuildingType.COUNT;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Integer> next() {
+                        if (next >= BuildingType.COUNT) {
+                            throw new NoSuchElementException();
+                        }
+                        BuildingType type = BuildingType.ofOrdinal(next++);
+                        return new SimpleImmutableEntry<>(type.getTypeName(), buildingCounts[type.ordinal()]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return BuildingType.COUNT;
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            BuildingType type = key instanceof String ? BuildingType.fromTypeName((String) key) : null;
+            return type != null ? buildingCounts[type.ordinal()] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && BuildingType.fromTypeName((String) key) != null;
+        }
+    }
 }
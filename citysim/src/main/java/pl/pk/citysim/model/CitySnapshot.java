@@ -0,0 +1,209 @@
+package pl.pk.citysim.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Versioned binary checkpoint of a City. Layout (little-endian):
+//   magic, version, header length | header: name, day, budget, satisfaction, tax rates, daily totals,
+//   random stream state, buildings (type ordinal + occupancy), family count | padding to 8 bytes |
+//   family incomes (int per family) | family employment (bit per family, packed in longs)
+// The family columns are copied straight between the column store and memory-mapped regions of the file.
+public class CitySnapshot {
+    private static final int MAGIC = 0x4D495343; // "CSIM"
+    public static final int VERSION = 1;
+    private static final int PREAMBLE_BYTES = 12;
+    // Mapped windows are limited to 2 GB by the API; 4096 chunks keep each one at 1 GB or less
+    private static final int WINDOW_CHUNKS = 4096;
+
+    private CitySnapshot() {
+    }
+
+    public static void save(City city, Path file) throws IOException {
+        FamilyManager familyManager = city.getFamilyManager();
+        FamilyStore store = familyManager.getStore();
+        ByteBuffer header = writeHeader(city, familyManager, store.size());
+        long columnsOffset = align8(PREAMBLE_BYTES + header.remaining());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer preamble = ByteBuffer.allocate(PREAMBLE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            preamble.putInt(MAGIC).putInt(VERSION).putInt(header.remaining()).flip();
+            writeFully(channel, preamble, 0);
+            writeFully(channel, header, PREAMBLE_BYTES);
+            transferColumns(channel, columnsOffset, store, true);
+        }
+    }
+
+    public static City load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer preamble = readFully(channel, 0, PREAMBLE_BYTES);
+            if (preamble.getInt() != MAGIC) {
+                throw new IOException("Not a city snapshot: " + file);
+            }
+            int version = preamble.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " (expected " + VERSION + ")");
+            }
+            int headerLength = preamble.getInt();
+            ByteBuffer header = readFully(channel, PREAMBLE_BYTES, headerLength);
+            long columnsOffset = align8(PREAMBLE_BYTES + headerLength);
+
+            String name = readString(header);
+            int day = header.getInt();
+            int budget = header.getInt();
+            int satisfaction = header.getInt();
+            double taxRate = header.getDouble();
+            double vatRate = header.getDouble();
+            int dailyIncome = header.getInt();
+            int dailyExpenses = header.getInt();
+            int dailySatisfactionIncrease = header.getInt();
+            int dailySatisfactionDecrease = header.getInt();
+            long seed = header.getLong();
+            long familyStreamState = header.getLong();
+            long incomeRound = header.getLong();
+
+            FamilyManager familyManager = new FamilyManager(0, new RandomSource(seed));
+            familyManager.restoreStreams(familyStreamState, incomeRound);
+            City city = new City(name, familyManager.getRandomSource(), familyManager);
+
+            int buildingCount = header.getInt();
+            for (int i = 0; i < buildingCount; i++) {
+                int ordinal = header.get();
+                int occupancy = header.getInt();
+                if (ordinal < 0 || ordinal >= BuildingType.COUNT) {
+                    throw new IOException("Unknown building type " + ordinal + " in snapshot");
+                }
+                city.restoreBuilding(BuildingType.ofOrdinal(ordinal), occupancy);
+            }
+
+            int familyCount = header.getInt();
+            long expectedSize = columnsOffset + familyCount * 4L + ((familyCount + 63L) >>> 6) * 8L;
+            if (familyCount < 0 || channel.size() < expectedSize) {
+                throw new IOException("Truncated snapshot: " + file);
+            }
+            FamilyStore store = familyManager.getStore();
+            store.resize(familyCount);
+            transferColumns(channel, columnsOffset, store, false);
+
+            city.restoreState(day, budget, satisfaction, taxRate, vatRate, dailyIncome, dailyExpenses,
+                    dailySatisfactionIncrease, dailySatisfactionDecrease);
+            return city;
+        }
+    }
+
+    private static ByteBuffer writeHeader(City city, FamilyManager familyManager, int familyCount) {
+        byte[] name = city.getName().getBytes(StandardCharsets.UTF_8);
+        List<Building> buildings = city.getBuildingsView();
+        int length = 4 + name.length + 4 * 4 + 8 * 2 + 4 * 4 + 8 * 3 + 4 + buildings.size() * 5 + 4;
+        ByteBuffer header = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(name.length).put(name);
+        header.putInt(city.getDay());
+        header.putInt(city.getBudget());
+        header.putInt(city.getSatisfaction());
+        header.putDouble(city.getTaxRate());
+        header.putDouble(city.getVatRate());
+        header.putInt(city.getDailyIncome());
+        header.putInt(city.getDailyExpenses());
+        header.putInt(city.getDailySatisfactionIncrease());
+        header.putInt(city.getDailySatisfactionDecrease());
+        header.putLong(city.getSeed());
+        header.putLong(familyManager.getFamilyStreamState());
+        header.putLong(familyManager.getIncomeRound());
+        header.putInt(buildings.size());
+        for (Building building : buildings) {
+            header.put((byte) building.getType().ordinal());
+            header.putInt(building.getOccupancy());
+        }
+        header.putInt(familyCount);
+        return header.flip();
+    }
+
+    // Copies incomes and then employment bits between the store and the file, window by window.
+    // Full chunks are a multiple of 64 families, so the per-chunk bit words line up into one global bitset.
+    private static void transferColumns(FileChannel channel, long offset, FamilyStore store, boolean write)
+            throws IOException {
+        FileChannel.MapMode mode = write ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        int chunks = store.getActiveChunkCount();
+        for (int column = 0; column < 2; column++) {
+            boolean incomes = column == 0;
+            for (int first = 0; first < chunks; first += WINDOW_CHUNKS) {
+                int last = Math.min(chunks, first + WINDOW_CHUNKS);
+                long bytes = 0;
+                for (int chunk = first; chunk < last; chunk++) {
+                    bytes += columnBytes(store.chunkLength(chunk), incomes);
+                }
+                MappedByteBuffer mapped = channel.map(mode, offset, bytes);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+                if (incomes) {
+                    IntBuffer ints = mapped.asIntBuffer();
+                    for (int chunk = first; chunk < last; chunk++) {
+                        int length = store.chunkLength(chunk);
+                        if (write) {
+                            ints.put(store.incomeChunk(chunk), 0, length);
+                        } else {
+                            ints.get(store.incomeChunk(chunk), 0, length);
+                        }
+                    }
+                } else {
+                    LongBuffer longs = mapped.asLongBuffer();
+                    for (int chunk = first; chunk < last; chunk++) {
+                        int words = (store.chunkLength(chunk) + 63) >>> 6;
+                        if (write) {
+                            longs.put(store.employmentChunk(chunk), 0, words);
+                        } else {
+                            longs.get(store.employmentChunk(chunk), 0, words);
+                        }
+                    }
+                }
+                if (write) {
+                    mapped.force();
+                }
+                offset += bytes;
+            }
+        }
+    }
+
+    private static long columnBytes(int families, boolean incomes) {
+        return incomes ? families * 4L : ((families + 63L) >>> 6) * 8L;
+    }
+
+    private static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Truncated snapshot");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -2,6 +2,6 @@ package pl.pk.citysim.model;
 public class CommercialBuilding extends Building {
 
     public CommercialBuilding(int id) {
-        super(id, "Commercial", "Provides jobs and generates income", 15, 10, 2, 0, 0, 0);
+        super(id, BuildingType.COMMERCIAL);
     }
 }
@@ -0,0 +1,12 @@
+package pl.pk.citysim.model;
+
+// Broad groups of event kinds, used to query the event history
+public enum EventCategory {
+    GENERAL,
+    INCIDENT,      // Random events: fires, epidemics, crises and grants
+    FINANCE,       // Income, taxes collected and expenses
+    SERVICES,      // Education, healthcare and utility coverage
+    SATISFACTION,
+    POPULATION,    // Arrivals, departures and housing
+    POLICY         // Tax and VAT changes made by the player
+}
@@ -0,0 +1,324 @@
+package pl.pk.citysim.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Event history for the last retentionDays days, indexed by day, category and severity. Each day has its own
+// slot in a ring, so looking up a day is a single array access and the slot of a day that falls out of
+// the window is reused, arrays included. An event is stored as a kind byte, a label number and only the
+// values its kind needs; labels are kept once in a shared table.
+// Events are also passed on to the next sink, so the history can sit in front of any other sink.
+public class EventHistory implements EventSink {
+    public static final int DEFAULT_RETENTION_DAYS = GameConfig.MAX_DAYS;
+    private static final EventKind[] KINDS = EventKind.values();
+    private static final int CATEGORIES = EventCategory.values().length;
+    private static final int SEVERITIES = EventSeverity.values().length;
+
+    private final int retentionDays;
+    private final EventSink next;
+    private final DaySlot[] slots;
+    private final List<String> labels;
+    private final Map<String, Integer> labelIds;
+    private final int[] categoryTotals; // Over the whole window, kept up to date as days come and go
+    private final int[] severityTotals;
+    private int firstDay;
+    private int lastDay;
+
+    public EventHistory(int retentionDays, EventSink next) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("Event history must keep at least one day");
+        }
+        this.retentionDays = retentionDays;
+        this.next = next;
+        this.slots = new DaySlot[retentionDays];
+        this.labels = new ArrayList<>();
+        this.labelIds = new HashMap<>();
+        labels.add(null); // Label 0 means no label
+        this.categoryTotals = new int[CATEGORIES];
+        this.severityTotals = new int[SEVERITIES];
+        this.firstDay = 0;
+        this.lastDay = -1;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public EventSink getNext() {
+        return next;
+    }
+
+    // Oldest day still held, or 0 before the first event
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    // Newest day with events, or -1 before the first event
+    public int getLastDay() {
+        return lastDay;
+    }
+
+    @Override
+    public void startNewDay() {
+        next.startNewDay();
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b, double c, double d) {
+        DaySlot slot = slotForWrite(day);
+        if (slot != null) {
+            int base = slot.append(kind, labelId(label), kind.getValueCount());
+            countAdded(kind);
+            double[] values = slot.values;
+            int count = kind.getValueCount();
+            if (count > 0) {
+                values[base] = a;
+            }
+            if (count > 1) {
+                values[base + 1] = b;
+            }
+            if (count > 2) {
+                values[base + 2] = c;
+            }
+            if (count > 3) {
+                values[base + 3] = d;
+            }
+        }
+        next.add(kind, day, label, a, b, c, d);
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double[] source, int count) {
+        DaySlot slot = slotForWrite(day);
+        if (slot != null) {
+            int base = slot.append(kind, 0, count);
+            countAdded(kind);
+            System.arraycopy(source, 0, slot.values, base, count);
+        }
+        next.add(kind, day, source, count);
+    }
+
+    @Override
+    public void close() {
+        next.close();
+    }
+
+    // Number of events held for day; 0 for days outside the window
+    public int size(int day) {
+        DaySlot slot = slotForRead(day);
+        return slot == null ? 0 : slot.size;
+    }
+
+    public EventKind getKind(int day, int index) {
+        return KINDS[checkedSlot(day, index).kinds[index]];
+    }
+
+    public String render(int day, int index) {
+        DaySlot slot = checkedSlot(day, index);
+        return EventLog.format(KINDS[slot.kinds[index]], day, labels.get(slot.labels[index]), slot.values,
+                slot.valueStarts[index]);
+    }
+
+    public List<String> renderDay(int day) {
+        DaySlot slot = slotForRead(day);
+        if (slot == null) {
+            return new ArrayList<>();
+        }
+        List<String> rendered = new ArrayList<>(slot.size);
+        for (int i = 0; i < slot.size; i++) {
+            rendered.add(render(day, i));
+        }
+        return rendered;
+    }
+
+    // Number of events of category across the whole window
+    public int count(EventCategory category) {
+        return categoryTotals[category.ordinal()];
+    }
+
+    public int count(EventSeverity severity) {
+        return severityTotals[severity.ordinal()];
+    }
+
+    public int count(int day, EventCategory category) {
+        DaySlot slot = slotForRead(day);
+        return slot == null ? 0 : slot.categoryCounts[category.ordinal()];
+    }
+
+    public int count(int day, EventSeverity severity) {
+        DaySlot slot = slotForRead(day);
+        return slot == null ? 0 : slot.severityCounts[severity.ordinal()];
+    }
+
+    public List<String> render(EventCategory category) {
+        return render(EnumSet.of(category));
+    }
+
+    // Events of the given categories across the whole window, oldest first; days without any are skipped unread
+    public List<String> render(Set<EventCategory> categories) {
+        List<String> rendered = new ArrayList<>();
+        for (int day = firstDay; day <= lastDay; day++) {
+            DaySlot slot = slotForRead(day);
+            if (slot == null || !slot.hasAny(categories)) {
+                continue;
+            }
+            for (int i = 0; i < slot.size; i++) {
+                if (categories.contains(KINDS[slot.kinds[i]].getCategory())) {
+                    rendered.add(render(day, i));
+                }
+            }
+        }
+        return rendered;
+    }
+
+    // Approximate bytes held by the day slots, for sizing the retention window
+    public long getFootprintBytes() {
+        long bytes = 0;
+        for (DaySlot slot : slots) {
+            if (slot != null) {
+                bytes += slot.kinds.length + 2L * slot.labels.length + 4L * slot.valueStarts.length
+                        + 8L * slot.values.length + 4L * (CATEGORIES + SEVERITIES);
+            }
+        }
+        return bytes;
+    }
+
+    private DaySlot slotForWrite(int day) {
+        if (day < firstDay || day < 0) {
+            return null; // Already outside the window
+        }
+        if (day > lastDay) {
+            lastDay = day;
+            int newFirstDay = Math.max(firstDay, day - retentionDays + 1);
+            if (newFirstDay > firstDay) {
+                firstDay = newFirstDay;
+                expireBefore(newFirstDay);
+            }
+        }
+        DaySlot slot = slots[day % retentionDays];
+        if (slot == null) {
+            slot = new DaySlot();
+            slots[day % retentionDays] = slot;
+        }
+        if (slot.day != day) {
+            expire(slot);
+            slot.reset(day);
+        }
+        return slot;
+    }
+
+    // The window can jump past days without events, so every slot is checked rather than just the one reused
+    private void expireBefore(int day) {
+        for (DaySlot slot : slots) {
+            if (slot != null && slot.day >= 0 && slot.day < day) {
+                expire(slot);
+                slot.reset(-1);
+            }
+        }
+    }
+
+    // Takes the slot's events out of the window totals
+    private void expire(DaySlot slot) {
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryTotals[i] -= slot.categoryCounts[i];
+        }
+        for (int i = 0; i < SEVERITIES; i++) {
+            severityTotals[i] -= slot.severityCounts[i];
+        }
+    }
+
+    private void countAdded(EventKind kind) {
+        categoryTotals[kind.getCategory().ordinal()]++;
+        severityTotals[kind.getSeverity().ordinal()]++;
+    }
+
+    private DaySlot slotForRead(int day) {
+        if (day < firstDay || day > lastDay || day < 0) {
+            return null;
+        }
+        DaySlot slot = slots[day % retentionDays];
+        return slot != null && slot.day == day ? slot : null;
+    }
+
+    private DaySlot checkedSlot(int day, int index) {
+        DaySlot slot = slotForRead(day);
+        int size = slot == null ? 0 : slot.size;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " out of bounds for day " + day + " with " + size + " events");
+        }
+        return slot;
+    }
+
+    private int labelId(String label) {
+        if (label == null) {
+            return 0;
+        }
+        Integer id = labelIds.get(label);
+        if (id == null) {
+            if (labels.size() > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct event labels");
+            }
+            id = labels.size();
+            labels.add(label);
+            labelIds.put(label, id);
+        }
+        return id;
+    }
+
+    // Events of one day in parallel arrays that grow as needed and are kept when the slot is reused
+    private static final class DaySlot {
+        private int day = -1;
+        private int size;
+        private int valuesUsed;
+        private byte[] kinds = new byte[32];
+        private char[] labels = new char[32];
+        private int[] valueStarts = new int[32];
+        private double[] values = new double[64];
+        private final int[] categoryCounts = new int[CATEGORIES];
+        private final int[] severityCounts = new int[SEVERITIES];
+
+        void reset(int day) {
+            this.day = day;
+            size = 0;
+            valuesUsed = 0;
+            Arrays.fill(categoryCounts, 0);
+            Arrays.fill(severityCounts, 0);
+        }
+
+        boolean hasAny(Set<EventCategory> categories) {
+            for (EventCategory category : categories) {
+                if (categoryCounts[category.ordinal()] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Returns where the event's values start
+        int append(EventKind kind, int labelId, int valueCount) {
+            if (size == kinds.length) {
+                int capacity = size * 2;
+                kinds = Arrays.copyOf(kinds, capacity);
+                labels = Arrays.copyOf(labels, capacity);
+                valueStarts = Arrays.copyOf(valueStarts, capacity);
+            }
+            if (valuesUsed + valueCount > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, valuesUsed + valueCount));
+            }
+            int base = valuesUsed;
+            kinds[size] = (byte) kind.ordinal();
+            labels[size] = (char) labelId;
+            valueStarts[size] = base;
+            size++;
+            valuesUsed += valueCount;
+            categoryCounts[kind.getCategory().ordinal()]++;
+            severityCounts[kind.getSeverity().ordinal()]++;
+            return base;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package pl.pk.citysim.model;
+
+// Kinds of entries in the city event log. Each kind carries the text template it is rendered with;
+// the first conversion is always the day, %s takes the event label and every other conversion
+// takes the next numeric value of the event. Each kind is tagged with a category and a severity, so
+// readers can filter and colour events without looking at their text.
+public enum EventKind {
+    CITY_FOUNDED(EventCategory.GENERAL, EventSeverity.INFO, "Day %d: City founded with %d families and $%d budget."),
+    INITIAL_INFRASTRUCTURE(EventCategory.GENERAL, EventSeverity.INFO, "Day %d: Initial infrastructure established (housing, school, hospital, water plant, power plant)."),
+    NEW_DAY(EventCategory.GENERAL, EventSeverity.INFO, "Day %d: === NEW DAY ==="),
+    FIRE_CONTAINED(EventCategory.INCIDENT, EventSeverity.CRITICAL, "Day %d: FIRE! A %s caught fire. Water system helped reduce damage by $%d. Total damage: $%d."),
+    FIRE(EventCategory.INCIDENT, EventSeverity.CRITICAL, "Day %d: FIRE! A %s caught fire, causing $%d in damages."),
+    EPIDEMIC_CONTAINED(EventCategory.INCIDENT, EventSeverity.CRITICAL, "Day %d: EPIDEMIC! %d families affected. Hospitals reduced costs by $%d. Total cost: $%d."),
+    EPIDEMIC(EventCategory.INCIDENT, EventSeverity.CRITICAL, "Day %d: EPIDEMIC! %d families affected, costing $%d. No hospitals to help!"),
+    ECONOMIC_CRISIS(EventCategory.INCIDENT, EventSeverity.CRITICAL, "Day %d: %sECONOMIC CRISIS! The city lost $%d (%.1f%% of budget) due to market instability."),
+    GRANT(EventCategory.INCIDENT, EventSeverity.POSITIVE, "Day %d: %sGRANT! The city received a $%d grant (%.1f%% of budget) from the government."),
+    JOB_SHORTAGE(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: Job shortage (%.1f%% coverage) reducing family income"),
+    INCOME_SCALING(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: City size difficulty scaling applied (%.0f%% income efficiency)"),
+    UTILITY_INCOME_PENALTY(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: Utility shortage reducing family income"),
+    TAXES_COLLECTED(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: Collected $%d in income tax and $%d in VAT."),
+    EXPENSE_SCALING(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: City size difficulty scaling applied (%.0f%% expense increase)"),
+    // Multi-line breakdown: building upkeep, city services, utility operations, total, then upkeep per building type
+    EXPENSES(EventCategory.FINANCE, EventSeverity.INFO, "Day %d: Expenses breakdown:\n"),
+    HIGH_TAXES(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: High tax rates reducing satisfaction (Income Tax: -%d, VAT: -%d)"),
+    EDUCATION_SHORTAGE(EventCategory.SERVICES, EventSeverity.WARNING, "Day %d: WARNING - Not enough schools! Education capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d"),
+    EDUCATION_SHORTAGE_CRITICAL(EventCategory.SERVICES, EventSeverity.CRITICAL, "Day %d: CRITICAL - Not enough schools! Education capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d"),
+    HEALTHCARE_SHORTAGE(EventCategory.SERVICES, EventSeverity.WARNING, "Day %d: WARNING - Not enough hospitals! Healthcare capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d"),
+    HEALTHCARE_SHORTAGE_CRITICAL(EventCategory.SERVICES, EventSeverity.CRITICAL, "Day %d: CRITICAL - Not enough hospitals! Healthcare capacity: %d/%d families (%.1f%%). Satisfaction penalty: -%d"),
+    WATER_SHORTAGE(EventCategory.SERVICES, EventSeverity.WARNING, "Day %d: WARNING - Not enough water supply! Water capacity: %d/%d families (%.1f%%)"),
+    WATER_SHORTAGE_CRITICAL(EventCategory.SERVICES, EventSeverity.CRITICAL, "Day %d: CRITICAL - Not enough water supply! Water capacity: %d/%d families (%.1f%%)"),
+    POWER_SHORTAGE(EventCategory.SERVICES, EventSeverity.WARNING, "Day %d: WARNING - Not enough power supply! Power capacity: %d/%d families (%.1f%%)"),
+    POWER_SHORTAGE_CRITICAL(EventCategory.SERVICES, EventSeverity.CRITICAL, "Day %d: CRITICAL - Not enough power supply! Power capacity: %d/%d families (%.1f%%)"),
+    UTILITY_SATISFACTION_PENALTY(EventCategory.SERVICES, EventSeverity.INFO, "Day %d: Utility shortage causing a satisfaction penalty of -%d"),
+    SATISFACTION_LEVEL(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: Satisfaction level is now %d%%."),
+    HIGH_INCOME_TAX_ARRIVALS(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: High income tax (%.1f%% above default) reducing family arrival chance"),
+    HIGH_VAT_ARRIVALS(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: High VAT (%.1f%% above default) reducing family arrival chance"),
+    NO_HOUSING(EventCategory.POPULATION, EventSeverity.WARNING, "Day %d: WARNING - No available housing! New families cannot move in."),
+    HOUSING_NEARLY_FULL(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: NOTICE - Housing nearly full (%.1f%% occupied). Fewer families moving in."),
+    EXCELLENT_SATISFACTION(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: EXCELLENT - Very high satisfaction (>90%%) attracting many new families!"),
+    GREAT_SATISFACTION(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: GREAT - High satisfaction (>85%%) attracting more new families!"),
+    UTILITY_EXODUS(EventCategory.POPULATION, EventSeverity.CRITICAL, "Day %d: CRITICAL - Severe utility shortage causing families to leave!"),
+    EDUCATION_EXODUS(EventCategory.POPULATION, EventSeverity.CRITICAL, "Day %d: CRITICAL - Severe education shortage causing families to leave!"),
+    HEALTHCARE_EXODUS(EventCategory.POPULATION, EventSeverity.CRITICAL, "Day %d: CRITICAL - Severe healthcare shortage causing families to leave!"),
+    OVERCROWDING(EventCategory.POPULATION, EventSeverity.WARNING, "Day %d: WARNING - Housing overcrowding (%.1f%% occupied) causing families to leave!"),
+    HOMELESS_DEPARTURES(EventCategory.POPULATION, EventSeverity.CRITICAL, "Day %d: CRITICAL - %d families couldn't find housing and left the city!"),
+    FAMILIES_ARRIVED(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: %d new families moved to the city."),
+    FAMILIES_LEFT(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: %d families left the city."),
+    SATISFACTION_TREND(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: Current satisfaction level (%d%%) - %s."),
+    POPULATION_INCREASED(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: Population increased to %d families (%.1f%% housing capacity)."),
+    POPULATION_DECREASED(EventCategory.POPULATION, EventSeverity.INFO, "Day %d: Population decreased to %d families (%.1f%% housing capacity)."),
+    TAX_INCREASE(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: Tax increase reduced satisfaction by %d points."),
+    TAX_DECREASE(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: Tax decrease improved satisfaction by %d points."),
+    INCOME_TAX_SET(EventCategory.POLICY, EventSeverity.INFO, "Day %d: Income tax rate set to %.1f%%."),
+    VAT_INCREASE(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: VAT increase reduced satisfaction by %d points."),
+    VAT_DECREASE(EventCategory.SATISFACTION, EventSeverity.INFO, "Day %d: VAT decrease improved satisfaction by %d points."),
+    VAT_SET(EventCategory.POLICY, EventSeverity.INFO, "Day %d: VAT rate set to %.1f%%.");
+
+    private final EventCategory category;
+    private final EventSeverity severity;
+    private final String template;
+    private final char[] conversions;
+    private final int valueCount;
+
+    EventKind(EventCategory category, EventSeverity severity, String template) {
+        this.category = category;
+        this.severity = severity;
+        this.template = template;
+        this.conversions = scanConversions(template);
+        this.valueCount = countValues(conversions);
+    }
+
+    public EventCategory getCategory() {
+        return category;
+    }
+
+    public EventSeverity getSeverity() {
+        return severity;
+    }
+
+    // Worth listing in the game summary: every random incident and anything critical
+    public boolean isNotable() {
+        return category == EventCategory.INCIDENT || severity == EventSeverity.CRITICAL;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    // Conversion characters of the template in order ('d', 'f' or 's'), without the leading day
+    char[] getConversions() {
+        return conversions;
+    }
+
+    // Numeric values an event of this kind carries (the expense breakdown brings its own count)
+    int getValueCount() {
+        return valueCount;
+    }
+
+    private static int countValues(char[] conversions) {
+        int count = 0;
+        for (char conversion : conversions) {
+            if (conversion != 's') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static char[] scanConversions(String template) {
+        StringBuilder found = new StringBuilder();
+        for (int i = 0; i < template.length(); i++) {
+            if (template.charAt(i) != '%') {
+                continue;
+            }
+            int j = i + 1;
+            while (j < template.length() && "-#+ 0,(.123456789".indexOf(template.charAt(j)) >= 0) {
+                j++;
+            }
+            char conversion = template.charAt(j);
+            if (conversion != '%' && conversion != 'n') {
+                found.append(conversion);
+            }
+            i = j;
+        }
+        return found.substring(1).toCharArray();
+    }
+}
@@ -0,0 +1,245 @@
+package pl.pk.citysim.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ring buffer of typed city events. Recording an event only stores its kind, day, an optional
+// label and a few numbers; the text is built when somebody actually reads the log.
+public class EventLog implements EventSink {
+    static final int MAX_VALUES = 12;
+
+    private final int capacity;
+    private final EventKind[] kinds;
+    private final int[] days;
+    private final String[] labels;
+    private final double[] values;
+    private long written;
+    private long dayStart;
+
+    public EventLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event log capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.kinds = new EventKind[capacity];
+        this.days = new int[capacity];
+        this.labels = new String[capacity];
+        this.values = new double[capacity * MAX_VALUES];
+        this.written = 0;
+        this.dayStart = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Events recorded after this call make up the "current" log returned by renderCurrent()
+    @Override
+    public void startNewDay() {
+        dayStart = written;
+    }
+
+    @Override
+    public void add(EventKind kind, int day) {
+        next(kind, day, null);
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double a) {
+        int base = next(kind, day, null);
+        values[base] = a;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double a, double b) {
+        int base = next(kind, day, null);
+        values[base] = a;
+        values[base + 1] = b;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double a, double b, double c) {
+        int base = next(kind, day, null);
+        values[base] = a;
+        values[base + 1] = b;
+        values[base + 2] = c;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double a, double b, double c, double d) {
+        int base = next(kind, day, null);
+        values[base] = a;
+        values[base + 1] = b;
+        values[base + 2] = c;
+        values[base + 3] = d;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a) {
+        int base = next(kind, day, label);
+        values[base] = a;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b) {
+        int base = next(kind, day, label);
+        values[base] = a;
+        values[base + 1] = b;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b, double c) {
+        int base = next(kind, day, label);
+        values[base] = a;
+        values[base + 1] = b;
+        values[base + 2] = c;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b, double c, double d) {
+        int base = next(kind, day, label);
+        values[base] = a;
+        values[base + 1] = b;
+        values[base + 2] = c;
+        values[base + 3] = d;
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double[] source, int count) {
+        if (count > MAX_VALUES) {
+            throw new IllegalArgumentException("At most " + MAX_VALUES + " values per event");
+        }
+        int base = next(kind, day, null);
+        System.arraycopy(source, 0, values, base, count);
+    }
+
+    // Drops everything recorded so far
+    void clear() {
+        written = 0;
+        dayStart = 0;
+    }
+
+    // Number of events recorded since the last startNewDay() that are still retained
+    public int currentSize() {
+        return (int) (written - firstCurrent());
+    }
+
+    // Index of the first current event, for walking the current day with getKind/render without copying
+    public int currentStart() {
+        return (int) (firstCurrent() - firstRetained());
+    }
+
+    public int retainedSize() {
+        return (int) (written - firstRetained());
+    }
+
+    public EventKind getKind(int index) {
+        return kinds[slot(index)];
+    }
+
+    public int getDay(int index) {
+        return days[slot(index)];
+    }
+
+    public double getValue(int index, int valueIndex) {
+        return values[slot(index) * MAX_VALUES + valueIndex];
+    }
+
+    public List<String> renderCurrent() {
+        return render(firstCurrent(), -1);
+    }
+
+    public List<String> renderRetained() {
+        return render(firstRetained(), -1);
+    }
+
+    public List<String> renderDay(int day) {
+        return render(firstRetained(), day);
+    }
+
+    public String render(int index) {
+        return format((int) ((firstRetained() + index) % capacity));
+    }
+
+    private int next(EventKind kind, int day, String label) {
+        int slot = (int) (written++ % capacity);
+        kinds[slot] = kind;
+        days[slot] = day;
+        labels[slot] = label;
+        return slot * MAX_VALUES;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= retainedSize()) {
+            throw new IndexOutOfBoundsException("Event index " + index + " out of bounds for size " + retainedSize());
+        }
+        return (int) ((firstRetained() + index) % capacity);
+    }
+
+    private long firstRetained() {
+        return Math.max(0, written - capacity);
+    }
+
+    private long firstCurrent() {
+        return Math.max(dayStart, firstRetained());
+    }
+
+    private List<String> render(long from, int day) {
+        List<String> rendered = new ArrayList<>((int) (written - from));
+        for (long i = from; i < written; i++) {
+            int slot = (int) (i % capacity);
+            if (day < 0 || days[slot] == day) {
+                rendered.add(format(slot));
+            }
+        }
+        return rendered;
+    }
+
+    private String format(int slot) {
+        return format(kinds[slot], days[slot], labels[slot], values, slot * MAX_VALUES);
+    }
+
+    // Builds the text of one event whose numbers start at values[base]; shared with EventHistory
+    static String format(EventKind kind, int day, String label, double[] values, int base) {
+        if (kind == EventKind.EXPENSES) {
+            return formatExpenses(day, values, base);
+        }
+        char[] conversions = kind.getConversions();
+        Object[] args = new Object[conversions.length + 1];
+        args[0] = day;
+        int next = base;
+        for (int i = 0; i < conversions.length; i++) {
+            switch (conversions[i]) {
+                case 's':
+                    args[i + 1] = label;
+                    break;
+                case 'd':
+                    args[i + 1] = (long) values[next++];
+                    break;
+                default:
+                    args[i + 1] = values[next++];
+                    break;
+            }
+        }
+        return String.format(kind.getTemplate(), args);
+    }
+
+    // Payload: building upkeep, city services, utility operations, total, then upkeep per BuildingType in ordinal order
+    private static String formatExpenses(int day, double[] values, int base) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(EventKind.EXPENSES.getTemplate(), day));
+        text.append(String.format("- Building upkeep: $%d\n", (long) values[base]));
+        for (int i = 0; i < BuildingType.COUNT; i++) {
+            long typeUpkeep = (long) values[base + 4 + i];
+            if (typeUpkeep > 0) {
+                text.append(String.format("  - %s: $%d\n", BuildingType.ofOrdinal(i).getTypeName(), typeUpkeep));
+            }
+        }
+        text.append(String.format("- City services: $%d\n", (long) values[base + 1]));
+        if (values[base + 2] > 0) {
+            text.append(String.format("- Utility operations: $%d\n", (long) values[base + 2]));
+        }
+        text.append(String.format("Total daily expenses: $%d", (long) values[base + 3]));
+        return text.toString();
+    }
+}
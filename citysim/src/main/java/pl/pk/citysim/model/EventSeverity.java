@@ -0,0 +1,9 @@
+package pl.pk.citysim.model;
+
+// How much attention an event deserves; the console colours events by it
+public enum EventSeverity {
+    INFO,
+    POSITIVE,
+    WARNING,
+    CRITICAL
+}
@@ -0,0 +1,51 @@
+package pl.pk.citysim.model;
+
+// Where a city sends its events. Events arrive typed (kind, day, optional label, numbers) so a sink
+// only pays for building the text if it actually needs it. Unused values are passed as 0.
+public interface EventSink extends AutoCloseable {
+
+    // Marks the start of a new simulated day
+    void startNewDay();
+
+    void add(EventKind kind, int day, String label, double a, double b, double c, double d);
+
+    // Copies count values from source, for kinds with a longer payload such as the expense breakdown
+    void add(EventKind kind, int day, double[] source, int count);
+
+    default void add(EventKind kind, int day) {
+        add(kind, day, null, 0, 0, 0, 0);
+    }
+
+    default void add(EventKind kind, int day, double a) {
+        add(kind, day, null, a, 0, 0, 0);
+    }
+
+    default void add(EventKind kind, int day, double a, double b) {
+        add(kind, day, null, a, b, 0, 0);
+    }
+
+    default void add(EventKind kind, int day, double a, double b, double c) {
+        add(kind, day, null, a, b, c, 0);
+    }
+
+    default void add(EventKind kind, int day, double a, double b, double c, double d) {
+        add(kind, day, null, a, b, c, d);
+    }
+
+    default void add(EventKind kind, int day, String label, double a) {
+        add(kind, day, label, a, 0, 0, 0);
+    }
+
+    default void add(EventKind kind, int day, String label, double a, double b) {
+        add(kind, day, label, a, b, 0, 0);
+    }
+
+    default void add(EventKind kind, int day, String label, double a, double b, double c) {
+        add(kind, day, label, a, b, c, 0);
+    }
+
+    // Releases files or threads held by the sink; in-memory sinks have nothing to release
+    @Override
+    default void close() {
+    }
+}
@@ -1,6 +1,8 @@
 package pl.pk.citysim.model;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Family {
     private int income;
@@ -10,24 +12,44 @@ public class Family {
         this.income = 60 + random.nextInt(61);
         this.employed = random.nextDouble() < 0.8;
     }
-    
+
+    public Family(int income, boolean employed) {
+        this.income = income;
+        this.employed = employed;
+    }
+
     public int getIncome() {
         return income;
     }
-    
+
     public void setIncome(int income) {
         this.income = income;
     }
-    
+
     public boolean isEmployed() {
         return employed;
     }
-    
+
     public void setEmployed(boolean employed) {
         this.employed = employed;
     }
-    
+
     public int calculateIncome(double jobQualityRatio, double jobRatio, double educationRatio, double difficultyScaling) {
+        boolean wasEmployed = employed;
+        employed = nextEmployment(wasEmployed, jobRatio, ThreadLocalRandom.current());
+        return dailyIncome(income, wasEmployed, employed, jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+    }
+
+    // Employment can only be lost during a job shortage and only be regained when there are enough jobs
+    static boolean nextEmployment(boolean employed, double jobRatio, RandomGenerator random) {
+        if (jobRatio < 1.0) {
+            return employed && random.nextDouble() <= jobRatio;
+        }
+        return employed || random.nextDouble() < 0.2;
+    }
+
+    static int dailyIncome(int income, boolean wasEmployed, boolean employed, double jobQualityRatio,
+                           double jobRatio, double educationRatio, double difficultyScaling) {
         int calculatedIncome = income;
         calculatedIncome += (int) (calculatedIncome * jobQualityRatio * 0.3);
         if (jobRatio < 1.0) {
@@ -35,12 +57,8 @@ public class Family {
             calculatedIncome -= jobShortagePenalty;
             if (!employed) {
                 calculatedIncome = (int)(calculatedIncome * 0.6); // Unemployed families earn less
-            } else if (Math.random() > jobRatio) {
-                employed = false;
-                calculatedIncome = (int)(calculatedIncome * 0.6); // Newly unemployed families earn less
             }
-        } else if (!employed && Math.random() < 0.2) {
-            employed = true;
+        } else if (!wasEmployed && employed) {
             calculatedIncome = (int)(calculatedIncome * 1.5); // Newly employed families earn more
         }
         int educationBonus = (int) (calculatedIncome * educationRatio * 0.25); // Up to 25% bonus
@@ -48,4 +66,4 @@ public class Family {
         calculatedIncome = (int)(calculatedIncome * difficultyScaling);
         return calculatedIncome;
     }
-}
\ No newline at end of file
+}
@@ -2,67 +2,188 @@ package pl.pk.citysim.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class FamilyManager {
-    private List<Family> families;
-    private Random random;
+    // Below two chunks the fork/join overhead outweighs the gain
+    private static final int PARALLEL_THRESHOLD = 2 * FamilyStore.CHUNK_SIZE;
+
+    private final FamilyStore store;
+    private final RandomSource randomSource;
+    private final RandomSource.Stream familyRandom;
+    private final RandomSource.Stream incomeRandom;
+    private long incomeRound;
+    private boolean parallelIncome;
+    private ForkJoinPool incomePool;
 
     public FamilyManager() {
-        this.families = new ArrayList<>();
-        this.random = new Random();
+        this(0);
     }
 
     public FamilyManager(int initialFamilies) {
-        this.families = new ArrayList<>();
-        this.random = new Random();
-        for (int i = 0; i < initialFamilies; i++) {
-            addFamily();
-        }
+        this(initialFamilies, RandomSource.randomSeed());
+    }
+
+    public FamilyManager(int initialFamilies, long seed) {
+        this(initialFamilies, new RandomSource(seed));
+    }
+
+    public FamilyManager(int initialFamilies, RandomSource randomSource) {
+        this.store = new FamilyStore();
+        this.randomSource = randomSource;
+        this.familyRandom = randomSource.stream(RandomSource.Phase.FAMILIES);
+        this.incomeRandom = randomSource.workerStream(RandomSource.Phase.INCOME, 0, 0);
+        this.incomeRound = 0;
+        this.parallelIncome = false;
+        this.incomePool = ForkJoinPool.commonPool();
+        addFamilies(initialFamilies);
     }
 
     public int getFamiliesCount() {
-        return families.size();
+        return store.size();
     }
 
+    // Detached snapshots; changing them does not affect the city
     public List<Family> getFamilies() {
-        return new ArrayList<>(families);
+        List<Family> families = new ArrayList<>(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            families.add(new Family(store.getIncome(i), store.isEmployed(i)));
+        }
+        return families;
     }
 
-    public Family addFamily() {
-        Family family = new Family(random);
-        families.add(family);
-        return family;
+    // Allocation-free alternative to getFamilies()
+    public FamilyStore.Cursor familyCursor() {
+        return store.cursor();
     }
 
-    public int removeFamilies(int count) {
-        int actualCount = Math.min(count, families.size());
-        for (int i = 0; i < actualCount; i++) {
-            families.remove(families.size() - 1);
+    public int getEmployedCount() {
+        return store.getEmployedCount();
+    }
+
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    public FamilyStore getStore() {
+        return store;
+    }
+
+    long getIncomeRound() {
+        return incomeRound;
+    }
+
+    long getFamilyStreamState() {
+        return familyRandom.getState();
+    }
+
+    // Continues the random streams where a saved city left off
+    void restoreStreams(long familyStreamState, long incomeRound) {
+        familyRandom.reseed(familyStreamState);
+        this.incomeRound = incomeRound;
+    }
+
+    public int addFamily() {
+        int income = 60 + familyRandom.nextInt(61);
+        boolean employed = familyRandom.nextDouble() < 0.8;
+        store.add(income, employed);
+        return store.size() - 1;
+    }
+
+    public void addFamilies(int count) {
+        for (int i = 0; i < count; i++) {
+            addFamily();
         }
-        return actualCount;
     }
 
+    public int removeFamilies(int count) {
+        return store.removeLast(count);
+    }
+
+    public boolean isParallelIncome() {
+        return parallelIncome;
+    }
+
+    public void setParallelIncome(boolean parallelIncome) {
+        this.parallelIncome = parallelIncome;
+    }
+
+    public void setParallelIncome(boolean parallelIncome, ForkJoinPool pool) {
+        this.parallelIncome = parallelIncome;
+        this.incomePool = pool;
+    }
+
+    // Every chunk draws from its own stream derived from (seed, round, chunk), so the result
+    // is the same whether chunks run one after another or on a fork/join pool
     public int calculateFamilyIncomes(double jobQualityRatio, double jobRatio, double educationRatio, double difficultyScaling) {
-        int totalIncome = 0;
-        for (Family family : families) {
-            totalIncome += family.calculateIncome(jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+        long round = incomeRound++;
+        int chunks = store.getActiveChunkCount();
+        long totalIncome;
+        if (parallelIncome && store.size() >= PARALLEL_THRESHOLD) {
+            totalIncome = incomePool.invoke(new IncomeTask(0, chunks, round,
+                    jobQualityRatio, jobRatio, educationRatio, difficultyScaling));
+        } else {
+            totalIncome = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                randomSource.reseedWorkerStream(incomeRandom, RandomSource.Phase.INCOME, round, chunk);
+                totalIncome += calculateChunkIncome(chunk, incomeRandom, jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+            }
         }
-        return totalIncome;
+        return (int) totalIncome;
     }
 
     public int getTotalIncome() {
-        int totalIncome = 0;
-        for (Family family : families) {
-            totalIncome += family.getIncome();
-        }
-        return totalIncome;
+        return (int) store.getTotalIncome();
     }
 
     public int getAverageIncome() {
-        if (families.isEmpty()) {
+        if (store.size() == 0) {
             return 0;
         }
-        return getTotalIncome() / families.size();
+        return getTotalIncome() / store.size();
+    }
+
+    private long calculateChunkIncome(int chunk, RandomSource.Stream chunkRandom, double jobQualityRatio, double jobRatio,
+                                      double educationRatio, double difficultyScaling) {
+        int from = chunk << FamilyStore.CHUNK_SHIFT;
+        int to = Math.min(store.size(), from + FamilyStore.CHUNK_SIZE);
+        return store.calculateIncomes(from, to, jobQualityRatio, jobRatio, educationRatio, difficultyScaling, chunkRandom);
+    }
+
+    private class IncomeTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int fromChunk;
+        private final int toChunk;
+        private final long round;
+        private final double jobQualityRatio;
+        private final double jobRatio;
+        private final double educationRatio;
+        private final double difficultyScaling;
+
+        IncomeTask(int fromChunk, int toChunk, long round, double jobQualityRatio, double jobRatio,
+                   double educationRatio, double difficultyScaling) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.round = round;
+            this.jobQualityRatio = jobQualityRatio;
+            this.jobRatio = jobRatio;
+            this.educationRatio = educationRatio;
+            this.difficultyScaling = difficultyScaling;
+        }
+
+        @Override
+        protected Long compute() {
+            if (toChunk - fromChunk == 1) {
+                RandomSource.Stream chunkRandom = randomSource.workerStream(RandomSource.Phase.INCOME, round, fromChunk);
+                return calculateChunkIncome(fromChunk, chunkRandom, jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            IncomeTask left = new IncomeTask(fromChunk, middle, round, jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+            IncomeTask right = new IncomeTask(middle, toChunk, round, jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+            left.fork();
+            long rightTotal = right.compute();
+            return left.join() + rightTotal;
+        }
     }
 }
@@ -0,0 +1,239 @@
+package pl.pk.citysim.model;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Column store for families: one int per family for income and one bit for employment.
+// Columns are split into fixed-size chunks so growth never copies the whole population.
+public class FamilyStore {
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 65536 families per chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[][] incomeChunks;
+    private long[][] employmentChunks;
+    private int chunkCount;
+    private int size;
+
+    public FamilyStore() {
+        this.incomeChunks = new int[4][];
+        this.employmentChunks = new long[4][];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int income, boolean employed) {
+        ensureCapacity(size + 1);
+        int index = size++;
+        incomeChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = income;
+        setEmployed(index, employed);
+    }
+
+    public int removeLast(int count) {
+        int actualCount = Math.max(0, Math.min(count, size));
+        size -= actualCount;
+        return actualCount;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int getIncome(int index) {
+        checkIndex(index);
+        return incomeChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public void setIncome(int index, int income) {
+        checkIndex(index);
+        incomeChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = income;
+    }
+
+    public boolean isEmployed(int index) {
+        checkIndex(index);
+        int offset = index & CHUNK_MASK;
+        return (employmentChunks[index >>> CHUNK_SHIFT][offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    public void setEmployed(int index, boolean employed) {
+        checkIndex(index);
+        int offset = index & CHUNK_MASK;
+        long[] bits = employmentChunks[index >>> CHUNK_SHIFT];
+        if (employed) {
+            bits[offset >>> 6] |= 1L << offset;
+        } else {
+            bits[offset >>> 6] &= ~(1L << offset);
+        }
+    }
+
+    public long getTotalIncome() {
+        long total = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int[] incomes = incomeChunks[chunk];
+            int end = chunkEnd(chunk);
+            for (int i = 0; i < end; i++) {
+                total += incomes[i];
+            }
+        }
+        return total;
+    }
+
+    public int getEmployedCount() {
+        int employed = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            long[] bits = employmentChunks[chunk];
+            int end = chunkEnd(chunk);
+            int fullWords = end >>> 6;
+            for (int w = 0; w < fullWords; w++) {
+                employed += Long.bitCount(bits[w]);
+            }
+            int rest = end & 63;
+            if (rest > 0) {
+                employed += Long.bitCount(bits[fullWords] & ((1L << rest) - 1));
+            }
+        }
+        return employed;
+    }
+
+    // Runs the daily income rule for families in [from, to) and returns the sum of their calculated incomes
+    long calculateIncomes(int from, int to, double jobQualityRatio, double jobRatio,
+                          double educationRatio, double difficultyScaling, RandomGenerator random) {
+        long total = 0;
+        int index = from;
+        while (index < to) {
+            int chunk = index >>> CHUNK_SHIFT;
+            int[] incomes = incomeChunks[chunk];
+            long[] bits = employmentChunks[chunk];
+            int offset = index & CHUNK_MASK;
+            int end = Math.min(CHUNK_SIZE, offset + (to - index));
+            for (int i = offset; i < end; i++) {
+                long mask = 1L << i;
+                boolean wasEmployed = (bits[i >>> 6] & mask) != 0;
+                boolean employed = Family.nextEmployment(wasEmployed, jobRatio, random);
+                if (employed != wasEmployed) {
+                    bits[i >>> 6] ^= mask;
+                }
+                total += Family.dailyIncome(incomes[i], wasEmployed, employed,
+                        jobQualityRatio, jobRatio, educationRatio, difficultyScaling);
+            }
+            index += end - offset;
+        }
+        return total;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Number of chunks holding live families; chunk boundaries are word-aligned, so chunks can be processed independently
+    int getActiveChunkCount() {
+        return (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+    }
+
+    // Raw chunk access for snapshots; only the first chunkLength(chunk) entries are live
+    int[] incomeChunk(int chunk) {
+        return incomeChunks[chunk];
+    }
+
+    long[] employmentChunk(int chunk) {
+        return employmentChunks[chunk];
+    }
+
+    int chunkLength(int chunk) {
+        return chunkEnd(chunk);
+    }
+
+    // Sets the size without initializing entries; the caller fills the chunks
+    void resize(int newSize) {
+        if (newSize > 0) {
+            ensureCapacity(newSize);
+        }
+        size = newSize;
+    }
+
+    private int chunkEnd(int chunk) {
+        return Math.min(CHUNK_SIZE, size - (chunk << CHUNK_SHIFT));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Family index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        int requiredChunks = ((required - 1) >>> CHUNK_SHIFT) + 1;
+        if (requiredChunks == 1) {
+            // The first chunk grows gradually so small cities stay small
+            if (chunkCount == 0) {
+                incomeChunks[0] = new int[INITIAL_CAPACITY];
+                employmentChunks[0] = new long[INITIAL_CAPACITY >>> 6];
+                chunkCount = 1;
+            }
+            int length = incomeChunks[0].length;
+            if (required > length) {
+                int newLength = Math.min(CHUNK_SIZE, Math.max(length * 2, required));
+                incomeChunks[0] = Arrays.copyOf(incomeChunks[0], newLength);
+                employmentChunks[0] = Arrays.copyOf(employmentChunks[0], (newLength + 63) >>> 6);
+            }
+            return;
+        }
+        if (chunkCount == 0) {
+            incomeChunks[0] = new int[CHUNK_SIZE];
+            employmentChunks[0] = new long[CHUNK_SIZE >>> 6];
+            chunkCount = 1;
+        } else if (incomeChunks[0].length < CHUNK_SIZE) {
+            incomeChunks[0] = Arrays.copyOf(incomeChunks[0], CHUNK_SIZE);
+            employmentChunks[0] = Arrays.copyOf(employmentChunks[0], CHUNK_SIZE >>> 6);
+        }
+        if (requiredChunks > incomeChunks.length) {
+            int newLength = Math.max(incomeChunks.length * 2, requiredChunks);
+            incomeChunks = Arrays.copyOf(incomeChunks, newLength);
+            employmentChunks = Arrays.copyOf(employmentChunks, newLength);
+        }
+        while (chunkCount < requiredChunks) {
+            incomeChunks[chunkCount] = new int[CHUNK_SIZE];
+            employmentChunks[chunkCount] = new long[CHUNK_SIZE >>> 6];
+            chunkCount++;
+        }
+    }
+
+    // Forward-only read cursor over the columns; walks the chunks directly without creating Family objects.
+    // The store must not change while a cursor is in use.
+    public final class Cursor {
+        private int index = -1;
+        private int[] incomes;
+        private long[] employment;
+        private int offset;
+
+        public boolean next() {
+            if (index + 1 >= size) {
+                return false;
+            }
+            index++;
+            offset = index & CHUNK_MASK;
+            if (offset == 0 || incomes == null) {
+                incomes = incomeChunks[index >>> CHUNK_SHIFT];
+                employment = employmentChunks[index >>> CHUNK_SHIFT];
+            }
+            return true;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int getIncome() {
+            return incomes[offset];
+        }
+
+        public boolean isEmployed() {
+            return (employment[offset >>> 6] & (1L << offset)) != 0;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package pl.pk.citysim.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Appends every event as a line of text to a log file. The simulation only stores typed events in a
+// buffer; a background thread swaps the full buffer for an empty one, renders the events and writes
+// them through a FileChannel. When the writer falls a whole buffer behind, the simulation waits for it
+// instead of dropping events.
+public class FileEventSink implements EventSink {
+    private static final Logger logger = Logger.getLogger(FileEventSink.class.getName());
+    public static final int DEFAULT_BUFFER_EVENTS = 4096;
+    private static final long FLUSH_INTERVAL_MS = 200;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Object lock;
+    private final Thread writer;
+    private final StringBuilder text;
+    private EventLog active;
+    private EventLog spare;
+    private long recorded;
+    private long flushed;
+    private boolean flushRequested;
+    private boolean closed;
+    private boolean failed;
+
+    public FileEventSink(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_EVENTS);
+    }
+
+    public FileEventSink(Path file, int bufferEvents) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.lock = new Object();
+        this.text = new StringBuilder();
+        this.active = new EventLog(bufferEvents);
+        this.spare = new EventLog(bufferEvents);
+        this.writer = new Thread(this::writeLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // The file holds every day, so there is no current day to reset
+    @Override
+    public void startNewDay() {
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b, double c, double d) {
+        synchronized (lock) {
+            if (awaitSpace()) {
+                active.add(kind, day, label, a, b, c, d);
+                recorded++;
+            }
+        }
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double[] source, int count) {
+        synchronized (lock) {
+            if (awaitSpace()) {
+                active.add(kind, day, source, count);
+                recorded++;
+            }
+        }
+    }
+
+    // Blocks until everything added so far is in the file (or the sink has stopped writing)
+    public void flush() {
+        synchronized (lock) {
+            long target = recorded;
+            flushRequested = true;
+            lock.notifyAll();
+            while (flushed < target && writer.isAlive()) {
+                try {
+                    lock.wait(FLUSH_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Writes out the remaining events and closes the file
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close event log " + file, e);
+        }
+    }
+
+    // Called with the lock held; false once the sink is closed and the event has nowhere to go
+    private boolean awaitSpace() {
+        while (!closed && active.retainedSize() == active.getCapacity()) {
+            if (!writer.isAlive()) {
+                return false;
+            }
+            lock.notifyAll();
+            try {
+                lock.wait(FLUSH_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !closed;
+    }
+
+    private void writeLoop() {
+        while (true) {
+            EventLog batch;
+            synchronized (lock) {
+                // Collect events for a while so each write covers many of them
+                if (!closed && !flushRequested && active.retainedSize() < active.getCapacity()) {
+                    try {
+                        lock.wait(FLUSH_INTERVAL_MS);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                flushRequested = false;
+                if (active.retainedSize() == 0) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch = active;
+                active = spare;
+                spare = batch;
+                // Producers waiting for space can continue into the empty buffer
+                lock.notifyAll();
+            }
+            int size = batch.retainedSize();
+            write(batch);
+            batch.clear();
+            synchronized (lock) {
+                flushed += size;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Runs on the writer thread only; a failed write is reported once and later events are discarded
+    private void write(EventLog batch) {
+        if (failed) {
+            return;
+        }
+        text.setLength(0);
+        for (int i = 0; i < batch.retainedSize(); i++) {
+            text.append(batch.render(i)).append('\n');
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            failed = true;
+            logger.log(Level.WARNING, "Failed to write event log " + file + ", event logging disabled", e);
+        }
+    }
+}
@@ -33,6 +33,14 @@ public class GameConfig {
             return expenseMultiplier;
         }
     }
+
+    // Where city events go: the in-memory ring buffer read by the console, nowhere, or a log file
+    public enum EventSinkType {
+        RING,
+        NONE,
+        FILE
+    }
+
     private static final int DEFAULT_INITIAL_FAMILIES = 10;
     private static final int DEFAULT_INITIAL_BUDGET = 1000;
     private static final double DEFAULT_INCOME_TAX_RATE = 0.10;
@@ -40,6 +48,13 @@ public class GameConfig {
     private static final long DEFAULT_TICK_INTERVAL_MS = 1000; // 1 second
     private static final String DEFAULT_DIFFICULTY = "NORMAL";
     private static final boolean DEFAULT_SANDBOX_MODE = false;
+    private static final boolean DEFAULT_PARALLEL_INCOME = false;
+    private static final boolean DEFAULT_REAL_TIME = false;
+    private static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+    private static final String DEFAULT_EVENT_SINK = "RING";
+    private static final int DEFAULT_EVENT_LOG_CAPACITY = 512;
+    private static final int DEFAULT_EVENT_HISTORY_DAYS = GameConfig.MAX_DAYS; // The whole game
+    private static final String DEFAULT_EVENT_LOG_FILE = "citysim-events.log";
     private static final int SANDBOX_INITIAL_FAMILIES = 20;
     private static final int SANDBOX_INITIAL_BUDGET = 10000;
     public static final int MAX_DAYS = 100;
@@ -50,20 +65,21 @@ public class GameConfig {
     private final long tickIntervalMs;
     private final Difficulty difficulty;
     private final boolean sandboxMode;
+    private final boolean parallelIncome;
+    private final boolean realTime;
+    private final String journalFile;
+    private final int maxCatchUpTicks;
+    private final EventSinkType eventSink;
+    private final int eventLogCapacity;
+    private final String eventLogFile;
+    private final int eventHistoryDays;
+    private final long seed;
 
     public GameConfig() {
-        Properties props = new Properties();
-        File configFile = new File("config.yml");
-        if (configFile.exists()) {
-            try (InputStream input = new FileInputStream(configFile)) {
-                props.load(input);
-                logger.log(Level.INFO, "Loaded configuration from config.yml");
-            } catch (IOException e) {
-                logger.log(Level.WARNING, "Failed to load config.yml, using defaults", e);
-            }
-        } else {
-            logger.log(Level.INFO, "config.yml not found, using default configuration");
-        }
+        this(loadProperties(new File("config.yml")));
+    }
+
+    public GameConfig(Properties props) {
         this.initialFamilies = Integer.parseInt(
                 props.getProperty("initialFamilies", String.valueOf(DEFAULT_INITIAL_FAMILIES)));
         this.initialBudget = Integer.parseInt(
@@ -77,6 +93,35 @@ public class GameConfig {
         String difficultyStr = props.getProperty("difficulty", DEFAULT_DIFFICULTY);
         this.difficulty = Difficulty.valueOf(difficultyStr.toUpperCase());
         this.sandboxMode = Boolean.parseBoolean(props.getProperty("sandboxMode", String.valueOf(DEFAULT_SANDBOX_MODE)));
+        this.parallelIncome = Boolean.parseBoolean(
+                props.getProperty("parallelIncome", String.valueOf(DEFAULT_PARALLEL_INCOME)));
+        this.realTime = Boolean.parseBoolean(props.getProperty("realTime", String.valueOf(DEFAULT_REAL_TIME)));
+        this.maxCatchUpTicks = Integer.parseInt(
+                props.getProperty("maxCatchUpTicks", String.valueOf(DEFAULT_MAX_CATCH_UP_TICKS)));
+        this.journalFile = props.getProperty("journalFile");
+        this.eventSink = EventSinkType.valueOf(props.getProperty("eventSink", DEFAULT_EVENT_SINK).trim().toUpperCase());
+        this.eventLogCapacity = Integer.parseInt(
+                props.getProperty("eventLogCapacity", String.valueOf(DEFAULT_EVENT_LOG_CAPACITY)));
+        this.eventLogFile = props.getProperty("eventLogFile", DEFAULT_EVENT_LOG_FILE);
+        this.eventHistoryDays = Integer.parseInt(
+                props.getProperty("eventHistoryDays", String.valueOf(DEFAULT_EVENT_HISTORY_DAYS)));
+        String seedStr = props.getProperty("seed");
+        this.seed = seedStr != null ? Long.parseLong(seedStr.trim()) : RandomSource.randomSeed();
+    }
+
+    public static Properties loadProperties(File configFile) {
+        Properties props = new Properties();
+        if (configFile.exists()) {
+            try (InputStream input = new FileInputStream(configFile)) {
+                props.load(input);
+                logger.log(Level.INFO, "Loaded configuration from " + configFile.getName());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to load " + configFile.getName() + ", using defaults", e);
+            }
+        } else {
+            logger.log(Level.INFO, configFile.getName() + " not found, using default configuration");
+        }
+        return props;
     }
 
     public int getInitialFamilies() {
@@ -103,6 +148,25 @@ public class GameConfig {
         return sandboxMode;
     }
 
+    public boolean isParallelIncome() {
+        return parallelIncome;
+    }
+
+    // Days advance on their own every tickIntervalMs instead of waiting for 'continue'
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    // How many missed ticks the real-time loop runs back to back before it gives up and skips ahead
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    // Same seed and same commands replay the same game
+    public long getSeed() {
+        return seed;
+    }
+
     public int getEffectiveInitialFamilies() {
         return sandboxMode ? SANDBOX_INITIAL_FAMILIES : initialFamilies;
     }
@@ -110,4 +174,43 @@ public class GameConfig {
     public int getEffectiveInitialBudget() {
         return sandboxMode ? SANDBOX_INITIAL_BUDGET : initialBudget;
     }
+
+    // Where player commands are journaled for replay; null when journaling is off
+    public String getJournalFile() {
+        return journalFile;
+    }
+
+    public EventSinkType getEventSink() {
+        return eventSink;
+    }
+
+    // Events kept in memory by the RING sink; older ones are overwritten
+    public int getEventLogCapacity() {
+        return eventLogCapacity;
+    }
+
+    // Appended to by the FILE sink
+    public String getEventLogFile() {
+        return eventLogFile;
+    }
+
+    // How many days of events the history keeps for day and category queries; 0 turns it off
+    public int getEventHistoryDays() {
+        return eventHistoryDays;
+    }
+
+    // The settings that shape a game, in the form the Properties constructor reads back
+    public Properties toProperties() {
+        Properties props = new Properties();
+        props.setProperty("initialFamilies", String.valueOf(initialFamilies));
+        props.setProperty("initialBudget", String.valueOf(initialBudget));
+        props.setProperty("initialTaxRate", String.valueOf(initialTaxRate));
+        props.setProperty("initialVatRate", String.valueOf(initialVatRate));
+        props.setProperty("tickIntervalMs", String.valueOf(tickIntervalMs));
+        props.setProperty("difficulty", difficulty.name());
+        props.setProperty("sandboxMode", String.valueOf(sandboxMode));
+        props.setProperty("parallelIncome", String.valueOf(parallelIncome));
+        props.setProperty("seed", String.valueOf(seed));
+        return props;
+    }
 }
@@ -2,7 +2,6 @@ package pl.pk.citysim.model;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -20,7 +19,7 @@ public class Highscore implements Comparable<Highscore> {
     // Default highscores directory path
     private static final String HIGHSCORES_FILE = "highscores.txt";
     private static final String HIGHSCORES_DIR = "saves";
-    private static final int MAX_HIGHSCORES = 10;
+    static final int MAX_HIGHSCORES = 10;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final String cityName;
@@ -71,63 +70,53 @@ public class Highscore implements Comparable<Highscore> {
         return new Highscore(cityName, score, families, budget, satisfaction, days);
     }
 
+    // Goes through the process-wide Leaderboard, so ranks stay current and its background write
+    // does not overwrite the entry
     public static boolean saveHighscore(Highscore highscore) {
-        try {
-            // Create the highscores directory if it doesn't exist
-            Path highscoresDir = Paths.get(HIGHSCORES_DIR);
-            if (!Files.exists(highscoresDir)) {
-                Files.createDirectory(highscoresDir);
-            }
-
-            // Load existing highscores
-            List<Highscore> highscores = loadHighscores();
-
-            // Remove any existing highscore for the same city
-            highscores.removeIf(h -> h.getCityName().equals(highscore.getCityName()));
+        return Leaderboard.getInstance().submit(highscore);
+    }
 
-            // Add the new highscore
-            highscores.add(highscore);
+    public static List<Highscore> loadHighscores() {
+        return Leaderboard.getInstance().getHighscores();
+    }
 
-            // Sort by score (descending)
-            Collections.sort(highscores);
-            if (highscores.size() > MAX_HIGHSCORES) {
-                highscores = highscores.subList(0, MAX_HIGHSCORES);
-            }
+    static Path defaultFile() {
+        return Paths.get(HIGHSCORES_DIR, HIGHSCORES_FILE);
+    }
 
-            // Save the updated highscores
-            File file = new File(highscoresDir.toFile(), HIGHSCORES_FILE);
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-                for (Highscore h : highscores) {
-                    // Format: cityName,score,families,budget,satisfaction,days,achievedAt
-                    writer.write(String.format("%s,%d,%d,%d,%d,%d,%s%n",
-                            h.cityName,
-                            h.score,
-                            h.families,
-                            h.budget,
-                            h.satisfaction,
-                            h.days,
-                            h.achievedAt.format(DATE_FORMATTER)));
-                }
+    // Replaces the entry of the same city, sorts by score and keeps the top MAX_HIGHSCORES
+    static List<Highscore> merge(List<Highscore> highscores, Highscore highscore) {
+        highscores.removeIf(h -> h.getCityName().equals(highscore.getCityName()));
+        highscores.add(highscore);
+        Collections.sort(highscores);
+        if (highscores.size() > MAX_HIGHSCORES) {
+            highscores = new ArrayList<>(highscores.subList(0, MAX_HIGHSCORES));
+        }
+        return highscores;
+    }
+
+    static void writeFile(Path file, List<Highscore> highscores) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file.toFile()))) {
+            for (Highscore h : highscores) {
+                // Format: cityName,score,families,budget,satisfaction,days,achievedAt
+                writer.write(String.format("%s,%d,%d,%d,%d,%d,%s%n",
+                        h.cityName,
+                        h.score,
+                        h.families,
+                        h.budget,
+                        h.satisfaction,
+                        h.days,
+                        h.achievedAt.format(DATE_FORMATTER)));
             }
-            System.out.println("Highscore saved to " + file.getAbsolutePath());
-            return true;
-        } catch (IOException e) {
-            System.err.println("Failed to save highscore: " + e.getMessage());
-            return false;
         }
     }
 
-    public static List<Highscore> loadHighscores() {
-        Path highscoresDir = Paths.get(HIGHSCORES_DIR);
-        File file = new File(highscoresDir.toFile(), HIGHSCORES_FILE);
-
-        if (!file.exists()) {
-            System.out.println("Highscores file not found, returning empty list");
-            return new ArrayList<>();
-        }
-
+    static List<Highscore> readFile(Path file) {
         List<Highscore> highscores = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        if (!Files.exists(file)) {
+            return highscores;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 try {
@@ -165,31 +154,11 @@ public class Highscore implements Comparable<Highscore> {
         }
     }
 
+    // Answered from the in-memory leaderboard, see Leaderboard
     public static int getRank(int score) {
-        List<Highscore> highscores = loadHighscores();
-
-        // If the list is empty, the score is #1
-        if (highscores.isEmpty()) {
-            return 1;
-        }
-
-        // Check each highscore
-        for (int i = 0; i < highscores.size(); i++) {
-            if (score >= highscores.get(i).getScore()) {
-                return i + 1;
-            }
-        }
-
-        // If the list is not full, the score can still make it
-        if (highscores.size() < MAX_HIGHSCORES) {
-            return highscores.size() + 1;
-        }
-
-        // The score is not in the top MAX_HIGHSCORES
-        return -1;
+        return Leaderboard.getInstance().getRank(score);
     }
 
-
     public String getCityName() {
         return cityName;
     }
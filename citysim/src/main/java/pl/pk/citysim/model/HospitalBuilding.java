@@ -2,6 +2,6 @@ package pl.pk.citysim.model;
 public class HospitalBuilding extends Building {
 
     public HospitalBuilding(int id) {
-        super(id, "Hospital", "Improves health and satisfaction", 0, 25, 7, 0, 60, 0);
+        super(id, BuildingType.HOSPITAL);
     }
 }
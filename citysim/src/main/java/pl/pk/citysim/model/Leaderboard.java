@@ -0,0 +1,132 @@
+package pl.pk.citysim.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Process-wide highscore table. The file is read once; ranks and the top list are answered from
+// memory, and changes are written back on a background thread. Submissions that arrive before a
+// pending write runs are coalesced into that single write.
+public class Leaderboard {
+    private static final Logger logger = Logger.getLogger(Leaderboard.class.getName());
+    private static final long DEFAULT_FLUSH_DELAY_MS = 500;
+
+    private static Leaderboard instance;
+
+    private final Path file;
+    private final long flushDelayMs;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean flushScheduled;
+    private final Object writeLock;
+    private List<Highscore> highscores;
+    private long version;
+    private long writtenVersion;
+    private volatile boolean lastWriteFailed;
+
+    public Leaderboard(Path file, long flushDelayMs) {
+        this.file = file;
+        this.flushDelayMs = flushDelayMs;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "highscore-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushScheduled = new AtomicBoolean(false);
+        this.writeLock = new Object();
+        this.highscores = Highscore.readFile(file);
+        this.version = 0;
+        this.writtenVersion = 0;
+    }
+
+    public static synchronized Leaderboard getInstance() {
+        if (instance == null) {
+            instance = new Leaderboard(Highscore.defaultFile(), DEFAULT_FLUSH_DELAY_MS);
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::flush, "highscore-flush"));
+        }
+        return instance;
+    }
+
+    // Sorted by score, best first
+    public synchronized List<Highscore> getHighscores() {
+        return new ArrayList<>(highscores);
+    }
+
+    public synchronized List<Highscore> getTop(int count) {
+        return new ArrayList<>(highscores.subList(0, Math.min(count, highscores.size())));
+    }
+
+    // 1-based position the score would take, or -1 if it would not make the table
+    public synchronized int getRank(int score) {
+        for (int i = 0; i < highscores.size(); i++) {
+            if (score >= highscores.get(i).getScore()) {
+                return i + 1;
+            }
+        }
+        if (highscores.size() < Highscore.MAX_HIGHSCORES) {
+            return highscores.size() + 1;
+        }
+        return -1;
+    }
+
+    // The score is in the table at once and written later, so the result only reports whether the last
+    // write reached the file; false means the table currently lives in memory only
+    public boolean submit(Highscore highscore) {
+        synchronized (this) {
+            highscores = Highscore.merge(highscores, highscore);
+            version++;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+        return !lastWriteFailed;
+    }
+
+    // Writes pending changes now; safe to call from any thread
+    public void flush() {
+        synchronized (writeLock) {
+            List<Highscore> snapshot;
+            long snapshotVersion;
+            synchronized (this) {
+                if (version == writtenVersion) {
+                    return;
+                }
+                snapshot = new ArrayList<>(highscores);
+                snapshotVersion = version;
+            }
+            try {
+                Path dir = file.toAbsolutePath().getParent();
+                if (dir != null) {
+                    Files.createDirectories(dir);
+                }
+                Highscore.writeFile(file, snapshot);
+                synchronized (this) {
+                    writtenVersion = snapshotVersion;
+                }
+                lastWriteFailed = false;
+            } catch (IOException e) {
+                lastWriteFailed = true;
+                logger.log(Level.WARNING, "Failed to write highscores to " + file, e);
+            }
+        }
+    }
+
+    public synchronized boolean hasPendingWrites() {
+        return version != writtenVersion;
+    }
+
+    public void close() {
+        writer.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,21 @@
+package pl.pk.citysim.model;
+
+// Drops every event, for benchmarks and batch runs that never read the log
+public final class NoOpEventSink implements EventSink {
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public void startNewDay() {
+    }
+
+    @Override
+    public void add(EventKind kind, int day, String label, double a, double b, double c, double d) {
+    }
+
+    @Override
+    public void add(EventKind kind, int day, double[] source, int count) {
+    }
+}
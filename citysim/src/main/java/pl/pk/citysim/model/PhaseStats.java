@@ -0,0 +1,55 @@
+package pl.pk.citysim.model;
+
+import java.beans.ConstructorProperties;
+
+// Point-in-time latency summary of one simulation phase; shown as a composite attribute over JMX.
+// Percentiles come from a bucketed histogram and are accurate to about 25%.
+public class PhaseStats {
+    private final long count;
+    private final long minNanos;
+    private final double avgNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+
+    @ConstructorProperties({"count", "minNanos", "avgNanos", "maxNanos", "p50Nanos", "p90Nanos", "p99Nanos"})
+    public PhaseStats(long count, long minNanos, double avgNanos, long maxNanos, long p50Nanos, long p90Nanos,
+                      long p99Nanos) {
+        this.count = count;
+        this.minNanos = minNanos;
+        this.avgNanos = avgNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinNanos() {
+        return minNanos;
+    }
+
+    public double getAvgNanos() {
+        return avgNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+}
@@ -0,0 +1,93 @@
+package pl.pk.citysim.model;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Single seeded source of randomness for a city. Every draw comes from a stream derived from
+// (seed, phase, round, worker), so a seed replays exactly and streams can be handed to parallel
+// workers without sharing state.
+public class RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public enum Phase {
+        EVENTS,
+        POPULATION,
+        FAMILIES,
+        INCOME
+    }
+
+    private final long seed;
+    private final Stream[] phaseStreams;
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.phaseStreams = new Stream[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phaseStreams[phase.ordinal()] = new Stream(streamSeed(phase, 0, 0));
+        }
+    }
+
+    public static long randomSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Long-lived stream of a phase; not thread-safe, only the thread running the phase may use it
+    public Stream stream(Phase phase) {
+        return phaseStreams[phase.ordinal()];
+    }
+
+    // Rewinds the phase stream to the start of the given round (usually the day) and returns it.
+    // Draws then depend only on the seed and the round, not on what happened before.
+    public Stream stream(Phase phase, long round) {
+        Stream stream = phaseStreams[phase.ordinal()];
+        stream.reseed(streamSeed(phase, round, 0));
+        return stream;
+    }
+
+    public Stream workerStream(Phase phase, long round, int worker) {
+        return new Stream(streamSeed(phase, round, worker + 1));
+    }
+
+    public void reseedWorkerStream(Stream stream, Phase phase, long round, int worker) {
+        stream.reseed(streamSeed(phase, round, worker + 1));
+    }
+
+    private long streamSeed(Phase phase, long round, int worker) {
+        long phaseSeed = mix64(seed + (phase.ordinal() + 1) * GOLDEN_GAMMA);
+        return mix64(mix64(phaseSeed + round * GOLDEN_GAMMA) + worker * GOLDEN_GAMMA);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // SplitMix64 generator that can be rewound in place, so reseeding never allocates
+    public static final class Stream implements RandomGenerator {
+        private long state;
+
+        Stream(long seed) {
+            this.state = seed;
+        }
+
+        void reseed(long seed) {
+            this.state = seed;
+        }
+
+        long getState() {
+            return state;
+        }
+
+        @Override
+        public long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix64(state);
+        }
+    }
+}
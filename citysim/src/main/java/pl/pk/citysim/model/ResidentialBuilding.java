@@ -2,6 +2,6 @@ package pl.pk.citysim.model;
 public class ResidentialBuilding extends Building {
 
     public ResidentialBuilding(int id) {
-        super(id, "Residential", "Houses families, increases population", 25, 5, 5, 0, 0, 0);
+        super(id, BuildingType.RESIDENTIAL);
     }
 }
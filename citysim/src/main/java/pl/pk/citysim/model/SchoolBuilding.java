@@ -2,6 +2,6 @@ package pl.pk.citysim.model;
 public class SchoolBuilding extends Building {
 
     public SchoolBuilding(int id) {
-        super(id, "School", "Improves education and satisfaction", 0, 15, 6, 50, 0, 0);
+        super(id, BuildingType.SCHOOL);
     }
 }
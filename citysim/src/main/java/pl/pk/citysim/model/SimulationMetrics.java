@@ -0,0 +1,288 @@
+package pl.pk.citysim.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Process-wide tick timings and counters. Everything is recorded into LongAdders, histogram buckets
+// included; an adder spreads updates from different threads over separate cells, so cities ticking in
+// parallel do not all hit the same hot bucket.
+public class SimulationMetrics implements SimulationMetricsMXBean {
+    private static final Logger logger = Logger.getLogger(SimulationMetrics.class.getName());
+    public static final String OBJECT_NAME = "pl.pk.citysim:type=SimulationMetrics";
+
+    public enum Phase {
+        DAILY_INCOME,
+        DAILY_EXPENSES,
+        RANDOM_EVENTS,
+        SATISFACTION,
+        POPULATION,
+        NEXT_DAY,
+        CITY_TICK
+    }
+
+    private static final SimulationMetrics INSTANCE = new SimulationMetrics();
+    private static boolean registered;
+
+    private final PhaseTimer[] timers;
+    private final LongAdder ticks;
+    private final LongAdder eventsFired;
+    private final LongAdder familiesAdded;
+    private final LongAdder familiesRemoved;
+    private final LongAdder buildingsBuilt;
+    private volatile boolean enabled;
+
+    SimulationMetrics() {
+        this.timers = new PhaseTimer[Phase.values().length];
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new PhaseTimer();
+        }
+        this.ticks = new LongAdder();
+        this.eventsFired = new LongAdder();
+        this.familiesAdded = new LongAdder();
+        this.familiesRemoved = new LongAdder();
+        this.buildingsBuilt = new LongAdder();
+        this.enabled = true;
+    }
+
+    public static SimulationMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Publishes the metrics on the platform MBean server; safe to call more than once
+    public static synchronized boolean registerMBean() {
+        if (registered) {
+            return true;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+            registered = true;
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Failed to register simulation metrics MBean", e);
+        }
+        return registered;
+    }
+
+    // Records the time since start for phase and returns the current time, so phases can be timed back to back
+    public long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        if (enabled) {
+            timers[phase.ordinal()].record(now - start);
+        }
+        return now;
+    }
+
+    public void record(Phase phase, long nanos) {
+        if (enabled) {
+            timers[phase.ordinal()].record(nanos);
+        }
+    }
+
+    public void countTick() {
+        if (enabled) {
+            ticks.increment();
+        }
+    }
+
+    public void countEvent() {
+        if (enabled) {
+            eventsFired.increment();
+        }
+    }
+
+    public void countFamilies(int added, int removed) {
+        if (enabled) {
+            familiesAdded.add(added);
+            familiesRemoved.add(removed);
+        }
+    }
+
+    public void countBuilds(int count) {
+        if (enabled) {
+            buildingsBuilt.add(count);
+        }
+    }
+
+    public PhaseStats getStats(Phase phase) {
+        return timers[phase.ordinal()].snapshot();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    @Override
+    public long getEventsFired() {
+        return eventsFired.sum();
+    }
+
+    @Override
+    public long getFamiliesAdded() {
+        return familiesAdded.sum();
+    }
+
+    @Override
+    public long getFamiliesRemoved() {
+        return familiesRemoved.sum();
+    }
+
+    @Override
+    public long getBuildingsBuilt() {
+        return buildingsBuilt.sum();
+    }
+
+    @Override
+    public PhaseStats getDailyIncomeTiming() {
+        return getStats(Phase.DAILY_INCOME);
+    }
+
+    @Override
+    public PhaseStats getDailyExpensesTiming() {
+        return getStats(Phase.DAILY_EXPENSES);
+    }
+
+    @Override
+    public PhaseStats getRandomEventsTiming() {
+        return getStats(Phase.RANDOM_EVENTS);
+    }
+
+    @Override
+    public PhaseStats getSatisfactionTiming() {
+        return getStats(Phase.SATISFACTION);
+    }
+
+    @Override
+    public PhaseStats getPopulationTiming() {
+        return getStats(Phase.POPULATION);
+    }
+
+    @Override
+    public PhaseStats getNextDayTiming() {
+        return getStats(Phase.NEXT_DAY);
+    }
+
+    @Override
+    public PhaseStats getCityTickTiming() {
+        return getStats(Phase.CITY_TICK);
+    }
+
+    @Override
+    public void reset() {
+        for (PhaseTimer timer : timers) {
+            timer.reset();
+        }
+        ticks.reset();
+        eventsFired.reset();
+        familiesAdded.reset();
+        familiesRemoved.reset();
+        buildingsBuilt.reset();
+    }
+
+    // Log-linear histogram: values below 4 get their own bucket, larger values are split into
+    // four buckets per power of two
+    static final class PhaseTimer {
+        private static final int BUCKETS = 256;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        PhaseTimer() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            count.increment();
+            total.add(nanos);
+            min.accumulate(nanos);
+            max.accumulate(nanos);
+            buckets[bucketOf(nanos)].increment();
+        }
+
+        PhaseStats snapshot() {
+            long[] counts = new long[BUCKETS];
+            long recorded = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                recorded += counts[i];
+            }
+            if (recorded == 0) {
+                return new PhaseStats(0, 0, 0, 0, 0, 0, 0);
+            }
+            long maxValue = max.get();
+            long n = count.sum();
+            return new PhaseStats(n, min.get(), n == 0 ? 0 : (double) total.sum() / n, maxValue,
+                    percentile(counts, recorded, 50, maxValue),
+                    percentile(counts, recorded, 90, maxValue),
+                    percentile(counts, recorded, 99, maxValue));
+        }
+
+        void reset() {
+            count.reset();
+            total.reset();
+            min.reset();
+            max.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i].reset();
+            }
+        }
+
+        static int bucketOf(long value) {
+            if (value < 4) {
+                return (int) value;
+            }
+            int msb = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (msb - 2)) & 3;
+            return (msb - 1) * 4 + sub;
+        }
+
+        static long bucketUpperBound(int bucket) {
+            if (bucket < 4) {
+                return bucket;
+            }
+            int msb = bucket / 4 + 1;
+            int sub = bucket % 4;
+            long lower = (long) (4 + sub) << (msb - 2);
+            return lower + (1L << (msb - 2)) - 1;
+        }
+
+        private static long percentile(long[] counts, long recorded, double p, long maxValue) {
+            long rank = Math.max(1, (long) Math.ceil(p / 100.0 * recorded));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package pl.pk.citysim.model;
+
+// Management interface of SimulationMetrics, registered as pl.pk.citysim:type=SimulationMetrics
+public interface SimulationMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getTicks();
+
+    long getEventsFired();
+
+    long getFamiliesAdded();
+
+    long getFamiliesRemoved();
+
+    long getBuildingsBuilt();
+
+    PhaseStats getDailyIncomeTiming();
+
+    PhaseStats getDailyExpensesTiming();
+
+    PhaseStats getRandomEventsTiming();
+
+    PhaseStats getSatisfactionTiming();
+
+    PhaseStats getPopulationTiming();
+
+    PhaseStats getNextDayTiming();
+
+    PhaseStats getCityTickTiming();
+
+    void reset();
+}
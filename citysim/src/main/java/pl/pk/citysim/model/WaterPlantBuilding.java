@@ -2,6 +2,6 @@ package pl.pk.citysim.model;
 public class WaterPlantBuilding extends Building {
 
     public WaterPlantBuilding(int id) {
-        super(id, "Water Plant", "Provides water to families", 0, 30, 3, 0, 0, 75);
+        super(id, BuildingType.WATER_PLANT);
     }
 }
@@ -3,18 +3,25 @@ package pl.pk.citysim.service;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import pl.pk.citysim.model.Building;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.CapacityLedger;
 import pl.pk.citysim.model.Highscore;
 import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.EventCategory;
+import pl.pk.citysim.model.EventHistory;
+import pl.pk.citysim.model.EventKind;
+import pl.pk.citysim.model.EventLog;
+import pl.pk.citysim.model.EventSeverity;
+import pl.pk.citysim.model.EventSink;
+import pl.pk.citysim.model.FileEventSink;
 import pl.pk.citysim.model.GameConfig;
-import pl.pk.citysim.model.ResidentialBuilding;
-import pl.pk.citysim.model.CommercialBuilding;
-import pl.pk.citysim.model.IndustrialBuilding;
-import pl.pk.citysim.model.SchoolBuilding;
-import pl.pk.citysim.model.HospitalBuilding;
-import pl.pk.citysim.model.ParkBuilding;
-import pl.pk.citysim.model.WaterPlantBuilding;
-import pl.pk.citysim.model.PowerPlantBuilding;
+import pl.pk.citysim.model.Leaderboard;
+import pl.pk.citysim.model.NoOpEventSink;
+import pl.pk.citysim.model.SimulationMetrics;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,38 +32,84 @@ public class CityService {
 
     private final City city;
     private final GameConfig config;
-    private static final Class<? extends Building>[] BUILDING_CLASSES = new Class[]{
-            ResidentialBuilding.class,
-            CommercialBuilding.class,
-            IndustrialBuilding.class,
-            ParkBuilding.class,
-            SchoolBuilding.class,
-            HospitalBuilding.class,
-            WaterPlantBuilding.class,
-            PowerPlantBuilding.class
-    };
+    private CommandJournal journal;
 
     public CityService() {
-        this.config = new GameConfig();
-        this.city = new City(config.getEffectiveInitialFamilies(), config.getEffectiveInitialBudget());
+        this(new GameConfig());
+    }
+
+    public CityService(GameConfig config) {
+        this.config = config;
+        this.city = new City("Unnamed City", config.getEffectiveInitialFamilies(),
+                config.getEffectiveInitialBudget(), config.getSeed(), createEventSink(config));
         city.setTaxRate(config.getInitialTaxRate());
         city.setVatRate(config.getInitialVatRate());
+        city.getFamilyManager().setParallelIncome(config.isParallelIncome());
 
         String modeInfo = config.isSandboxMode() ? " (SANDBOX MODE)" : "";
         logger.log(Level.INFO, String.format(
-                "City initialized with %d families, $%d budget, %.1f%% income tax, and %.1f%% VAT%s", 
+                "City initialized with %d families, $%d budget, %.1f%% income tax, and %.1f%% VAT%s (seed %d)", 
                 config.getEffectiveInitialFamilies(), 
                 config.getEffectiveInitialBudget(),
                 config.getInitialTaxRate() * 100,
                 config.getInitialVatRate() * 100,
-                modeInfo));
+                modeInfo,
+                config.getSeed()));
+    }
+
+    // Wraps an existing city, e.g. one loaded from a CitySnapshot; its events go to the configured sink from now on
+    public CityService(GameConfig config, City city) {
+        this.config = config;
+        this.city = city;
+        city.setEventSink(createEventSink(config));
+        city.getFamilyManager().setParallelIncome(config.isParallelIncome());
+    }
+
+    // The configured sink, behind a day-indexed history unless eventHistoryDays is 0
+    static EventSink createEventSink(GameConfig config) {
+        EventSink sink = createBaseEventSink(config);
+        return config.getEventHistoryDays() > 0 ? new EventHistory(config.getEventHistoryDays(), sink) : sink;
+    }
+
+    // A log file that cannot be opened falls back to the in-memory log rather than failing the game
+    private static EventSink createBaseEventSink(GameConfig config) {
+        switch (config.getEventSink()) {
+            case NONE:
+                return NoOpEventSink.INSTANCE;
+            case FILE:
+                try {
+                    return new FileEventSink(Path.of(config.getEventLogFile()));
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Failed to open event log " + config.getEventLogFile()
+                            + ", keeping events in memory", e);
+                    return new EventLog(config.getEventLogCapacity());
+                }
+            default:
+                return new EventLog(config.getEventLogCapacity());
+        }
     }
 
     public boolean cityTick() {
+        if (journal != null) {
+            journal.recordTick();
+        }
+        SimulationMetrics metrics = SimulationMetrics.getInstance();
+        long start = System.nanoTime();
+        try {
+            return advanceDay();
+        } finally {
+            metrics.lap(SimulationMetrics.Phase.CITY_TICK, start);
+            metrics.countTick();
+        }
+    }
+
+    private boolean advanceDay() {
         city.nextDay();
-        logger.log(Level.FINE, String.format(
-                "Day %d: %d families, %d budget, %d satisfaction", 
-                city.getDay(), city.getFamilies(), city.getBudget(), city.getSatisfaction()));
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, String.format(
+                    "Day %d: %d families, %d budget, %d satisfaction",
+                    city.getDay(), city.getFamilies(), city.getBudget(), city.getSatisfaction()));
+        }
         if (!config.isSandboxMode()) {
             if (city.getDay() >= GameConfig.MAX_DAYS) {
                 logger.log(Level.INFO, String.format("Game over: Reached day limit (%d days)", GameConfig.MAX_DAYS));
@@ -84,13 +137,11 @@ public class CityService {
     }
 
     public BuildingCost calculateBuildingCost(Class<? extends Building> buildingClass) {
-        int baseCost;
-        try {
-            Building temp = buildingClass.getConstructor(int.class).newInstance(0);
-            baseCost = temp.getUpkeep() * 10;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to instantiate building", e);
-        }
+        return calculateBuildingCost(BuildingType.of(buildingClass));
+    }
+
+    public BuildingCost calculateBuildingCost(BuildingType type) {
+        int baseCost = type.getBaseCost();
         int families = city.getFamilies();
         double costMultiplier = 1.0;
         if (families > 200) {
@@ -136,13 +187,24 @@ public class CityService {
             logger.log(Level.WARNING, "Cannot build null building type");
             return false;
         }
+        return buildBuildings(BuildingType.of(buildingClass), count);
+    }
+
+    public boolean buildBuildings(BuildingType type, int count) {
+        if (type == null) {
+            logger.log(Level.WARNING, "Cannot build null building type");
+            return false;
+        }
+        if (journal != null) {
+            journal.recordBuild(type, count);
+        }
 
         if (count <= 0) {
             logger.log(Level.WARNING, "Cannot build non-positive number of buildings: " + count);
             return false;
         }
 
-        BuildingCost buildingCost = calculateBuildingCost(buildingClass);
+        BuildingCost buildingCost = calculateBuildingCost(type);
         int costPerBuilding = buildingCost.getActualCost();
         double costMultiplier = buildingCost.getMultiplier();
         int totalCost = costPerBuilding * count;
@@ -150,7 +212,7 @@ public class CityService {
         if (city.getBudget() < totalCost) {
             logger.log(Level.INFO, String.format(
                     "Not enough budget to build %d %s: need %d, have %d",
-                    count, buildingClass.getSimpleName(), totalCost, city.getBudget()));
+                    count, type.getBuildingClass().getSimpleName(), totalCost, city.getBudget()));
             return false;
         }
 
@@ -161,15 +223,21 @@ public class CityService {
                     costMultiplier, city.getFamilies()));
         }
         for (int i = 0; i < count; i++) {
-            Building building = city.addBuilding(buildingClass, costPerBuilding);
-            logger.log(Level.INFO, String.format("Built new %s (ID: %d) at cost $%d (%.1fx multiplier)", 
-                    buildingClass.getSimpleName(), building.getId(), costPerBuilding, costMultiplier));
+            Building building = city.addBuilding(type, costPerBuilding);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.log(Level.INFO, String.format("Built new %s (ID: %d) at cost $%d (%.1fx multiplier)",
+                        type.getBuildingClass().getSimpleName(), building.getId(), costPerBuilding, costMultiplier));
+            }
         }
+        SimulationMetrics.getInstance().countBuilds(count);
 
         return true;
     }
 
     public void setTaxRate(double taxRate) {
+        if (journal != null) {
+            journal.recordTaxRate(taxRate);
+        }
         double oldRate = city.getTaxRate();
         city.setTaxRate(taxRate);
         logger.log(Level.INFO, String.format(
@@ -179,6 +247,9 @@ public class CityService {
     }
 
     public void setVatRate(double vatRate) {
+        if (journal != null) {
+            journal.recordVatRate(vatRate);
+        }
         double oldRate = city.getVatRate();
         city.setVatRate(vatRate);
         logger.log(Level.INFO, String.format(
@@ -191,13 +262,38 @@ public class CityService {
         return city;
     }
 
+    public void setCityName(String name) {
+        if (journal != null) {
+            journal.recordCityName(name);
+        }
+        city.setName(name);
+    }
+
+    // Every command sent through this service from now on is appended to the journal
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+    }
+
+    public CommandJournal getJournal() {
+        return journal;
+    }
+
     public GameConfig getConfig() {
         return config;
     }
 
     public String getGameSummary() {
         StringBuilder summary = new StringBuilder();
-        summary.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("GAME SUMMARY"));
+        try {
+            writeGameSummary(summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return summary.toString();
+    }
+
+    public void writeGameSummary(Appendable out) throws IOException {
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("GAME SUMMARY"));
         Map<String, String> stats = new HashMap<>();
         if (city.getDay() >= GameConfig.MAX_DAYS && !config.isSandboxMode()) {
             stats.put("Game Duration", GameConfig.MAX_DAYS + " days (completed)");
@@ -226,58 +322,67 @@ public class CityService {
             stats.put("Highscore Rank", "Not in top 10");
         }
 
-        summary.append(pl.pk.citysim.ui.ConsoleFormatter.createKeyValueTable("FINAL STATISTICS", stats));
-        summary.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("BUILDINGS CONSTRUCTED"));
+        pl.pk.citysim.ui.ConsoleFormatter.writeKeyValueTable(out, "FINAL STATISTICS", stats);
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("BUILDINGS CONSTRUCTED"));
 
-        Map<String, Integer> buildingCounts = city.getBuildingCounts();
         List<String[]> buildingRows = new ArrayList<>();
 
-        for (String typeName : buildingCounts.keySet()) {
-            int count = buildingCounts.get(typeName);
+        for (BuildingType type : BuildingType.values()) {
+            int count = city.getBuildingCount(type);
             if (count > 0) {
                 buildingRows.add(new String[]{
-                    typeName,
+                    type.getTypeName(),
                     String.valueOf(count)
                 });
             }
         }
 
         if (!buildingRows.isEmpty()) {
-            summary.append(pl.pk.citysim.ui.ConsoleFormatter.createTable(
+            pl.pk.citysim.ui.ConsoleFormatter.writeTable(out,
                 new String[]{"Building Type", "Count"}, 
                 buildingRows
-            ));
+            );
         } else {
-            summary.append("No buildings constructed.\n");
+            out.append("No buildings constructed.\n");
         }
-        summary.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("NOTABLE EVENTS"));
-
-        List<String> allEvents = city.getEventLog();
-        List<String> notableEvents = new ArrayList<>();
-        for (String event : allEvents) {
-            if (event.contains("FIRE") || event.contains("EPIDEMIC") || 
-                event.contains("ECONOMIC CRISIS") || event.contains("GRANT") ||
-                event.contains("CRITICAL")) {
-                notableEvents.add(event);
-            }
-        }
-
-        if (!notableEvents.isEmpty()) {
-            int eventsToShow = Math.min(10, notableEvents.size());
-            for (int i = 0; i < eventsToShow; i++) {
-                summary.append(pl.pk.citysim.ui.ConsoleFormatter.formatLogEntry(notableEvents.get(i))).append("\n");
-            }
-
-            if (notableEvents.size() > eventsToShow) {
-                summary.append("... and ").append(notableEvents.size() - eventsToShow).append(" more notable events.\n");
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("NOTABLE EVENTS"));
+
+        // Notable events from the whole game when the history is kept, otherwise from the last day.
+        // Events are picked by their tags; only the ones shown are rendered, the rest are counted.
+        int eventsToShow = 10;
+        int notableEvents = 0;
+        EventHistory history = city.getEventHistory();
+        if (history != null) {
+            for (int day = history.getFirstDay(); day <= history.getLastDay(); day++) {
+                if (history.count(day, EventCategory.INCIDENT) == 0 && history.count(day, EventSeverity.CRITICAL) == 0) {
+                    continue;
+                }
+                for (int i = 0; i < history.size(day); i++) {
+                    EventKind kind = history.getKind(day, i);
+                    if (kind.isNotable() && notableEvents++ < eventsToShow) {
+                        out.append(pl.pk.citysim.ui.ConsoleFormatter.formatLogEntry(
+                                history.render(day, i), kind.getSeverity())).append("\n");
+                    }
+                }
             }
         } else {
-            summary.append("No notable events recorded.\n");
+            EventLog events = city.getEvents();
+            for (int i = events.currentStart(); i < events.retainedSize(); i++) {
+                EventKind kind = events.getKind(i);
+                if (kind.isNotable() && notableEvents++ < eventsToShow) {
+                    out.append(pl.pk.citysim.ui.ConsoleFormatter.formatLogEntry(
+                            events.render(i), kind.getSeverity())).append("\n");
+                }
+            }
         }
 
-        summary.append(pl.pk.citysim.ui.ConsoleFormatter.createDivider());
+        if (notableEvents == 0) {
+            out.append("No notable events recorded.\n");
+        } else if (notableEvents > eventsToShow) {
+            out.append("... and ").append(String.valueOf(notableEvents - eventsToShow)).append(" more notable events.\n");
+        }
 
-        return summary.toString();
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createDivider());
     }
 
     public int calculateScore() {
@@ -295,85 +400,72 @@ public class CityService {
             return false;
         }
 
+        // Kept in memory and written to disk in the background, so this is cheap enough to call every day
         Highscore highscore = Highscore.calculateScore(city);
-        return Highscore.saveHighscore(highscore);
+        return Leaderboard.getInstance().submit(highscore);
     }
 
     public String getCityStats() {
         StringBuilder stats = new StringBuilder();
+        try {
+            writeCityStats(stats);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return stats.toString();
+    }
+
+    public void writeCityStats(Appendable out) throws IOException {
         Map<String, String> cityInfo = new HashMap<>();
         cityInfo.put("Day", String.valueOf(city.getDay()));
         cityInfo.put("Population", city.getFamilies() + " families");
         cityInfo.put("Budget", "$" + city.getBudget());
         cityInfo.put("Satisfaction", city.getSatisfaction() + "%");
 
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createKeyValueTable("CITY STATS", cityInfo));
+        pl.pk.citysim.ui.ConsoleFormatter.writeKeyValueTable(out, "CITY STATS", cityInfo);
         Map<String, String> financialInfo = new HashMap<>();
         financialInfo.put("Daily Income", "$" + city.getDailyIncome());
         financialInfo.put("Daily Expenses", "$" + city.getDailyExpenses());
         financialInfo.put("Net Daily Profit/Loss", "$" + (city.getDailyIncome() - city.getDailyExpenses()));
 
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createKeyValueTable("FINANCIAL INFO", financialInfo));
+        pl.pk.citysim.ui.ConsoleFormatter.writeKeyValueTable(out, "FINANCIAL INFO", financialInfo);
         Map<String, String> taxInfo = new HashMap<>();
         taxInfo.put("Income Tax", String.format("%.1f%%", city.getTaxRate() * 100));
         taxInfo.put("VAT", String.format("%.1f%%", city.getVatRate() * 100));
 
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createKeyValueTable("TAXES", taxInfo));
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("BUILDINGS"));
+        pl.pk.citysim.ui.ConsoleFormatter.writeKeyValueTable(out, "TAXES", taxInfo);
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("BUILDINGS"));
 
-        Map<String, Integer> buildingCounts = city.getBuildingCounts();
         List<String[]> buildingRows = new ArrayList<>();
 
-        for (Class<? extends Building> cls : BUILDING_CLASSES) {
-            try {
-                Building tmp = cls.getConstructor(int.class).newInstance(0);
-                String typeName = tmp.getTypeName();
-                int count = buildingCounts.getOrDefault(typeName, 0);
-                if (count > 0) {
-                    buildingRows.add(new String[]{
-                        typeName,
-                        String.valueOf(count),
-                        tmp.getDescription()
-                    });
-                }
-            } catch (Exception e) {
+        for (BuildingType type : BuildingType.values()) {
+            int count = city.getBuildingCount(type);
+            if (count > 0) {
+                buildingRows.add(new String[]{
+                    type.getTypeName(),
+                    String.valueOf(count),
+                    type.getDescription()
+                });
             }
         }
 
         if (!buildingRows.isEmpty()) {
-            stats.append(pl.pk.citysim.ui.ConsoleFormatter.createTable(
+            pl.pk.citysim.ui.ConsoleFormatter.writeTable(out,
                 new String[]{"Building Type", "Count", "Description"}, 
                 buildingRows
-            ));
+            );
         } else {
-            stats.append("No buildings constructed yet.\n");
-        }
-        int residentialCapacity = 0;
-        int commercialCapacity = 0;
-        int industrialCapacity = 0;
-        int educationCapacity = 0;
-        int healthcareCapacity = 0;
-        int waterCapacity = 0;
-        int powerCapacity = 0;
-
-        for (Building building : city.getBuildings()) {
-            if (building instanceof ResidentialBuilding) {
-                residentialCapacity += building.getCapacity();
-            } else if (building instanceof CommercialBuilding) {
-                commercialCapacity += building.getCapacity();
-            } else if (building instanceof IndustrialBuilding) {
-                industrialCapacity += building.getCapacity();
-            } else if (building instanceof SchoolBuilding) {
-                educationCapacity += building.getEducationCapacity();
-            } else if (building instanceof HospitalBuilding) {
-                healthcareCapacity += building.getHealthcareCapacity();
-            } else if (building instanceof WaterPlantBuilding) {
-                waterCapacity += building.getUtilityCapacity();
-            } else if (building instanceof PowerPlantBuilding) {
-                powerCapacity += building.getUtilityCapacity();
-            }
+            out.append("No buildings constructed yet.\n");
         }
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("CAPACITIES"));
+        CapacityLedger ledger = city.getCapacityLedger();
+        int residentialCapacity = ledger.getHousingCapacity();
+        int commercialCapacity = ledger.getCommercialJobs();
+        int industrialCapacity = ledger.getIndustrialJobs();
+        int educationCapacity = ledger.getEducationCapacity();
+        int healthcareCapacity = ledger.getHealthcareCapacity();
+        int waterCapacity = ledger.getWaterCapacity();
+        int powerCapacity = ledger.getPowerCapacity();
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("CAPACITIES"));
         List<String[]> capacityRows = new ArrayList<>();
         int families = city.getFamilies();
         int housingUsed = Math.min(families, residentialCapacity);
@@ -431,24 +523,23 @@ public class CityService {
             formatStatusForDisplay(powerStatus)
         });
 
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createTable(
+        pl.pk.citysim.ui.ConsoleFormatter.writeTable(out,
             new String[]{"Service", "Capacity", "Coverage", "Status"}, 
             capacityRows
-        ));
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("RECENT EVENTS"));
-        List<String> recentEvents = city.getRecentEvents();
-        if (recentEvents.isEmpty()) {
-            stats.append("No recent events.\n");
+        );
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createHeader("RECENT EVENTS"));
+        EventLog recentEvents = city.getEvents();
+        if (recentEvents.currentSize() == 0) {
+            out.append("No recent events.\n");
         } else {
-            for (String event : recentEvents) {
-                stats.append(pl.pk.citysim.ui.ConsoleFormatter.formatLogEntry(event)).append("\n");
+            for (int i = recentEvents.currentStart(); i < recentEvents.retainedSize(); i++) {
+                out.append(pl.pk.citysim.ui.ConsoleFormatter.formatLogEntry(recentEvents.render(i),
+                        recentEvents.getKind(i).getSeverity())).append("\n");
             }
         }
 
-        stats.append(pl.pk.citysim.ui.ConsoleFormatter.createDivider());
-        stats.append("Type 'log all' to view the full event log or 'help' for more commands.\n");
-
-        return stats.toString();
+        out.append(pl.pk.citysim.ui.ConsoleFormatter.createDivider());
+        out.append("Type 'log all' to view the full event log or 'help' for more commands.\n");
     }
 
     private String formatStatusForDisplay(String status) {
@@ -0,0 +1,207 @@
+package pl.pk.citysim.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.GameConfig;
+
+// Append-only binary log of player commands. The header holds the game settings including the seed;
+// every command after it is a one-byte opcode plus its arguments, and a day advance is a single byte.
+// Buildings are stored by type name rather than ordinal, so old journals still replay after the enum changes.
+// Each record is flushed when written, so a crash loses at most the command being written.
+public class CommandJournal implements Closeable {
+    private static final Logger logger = Logger.getLogger(CommandJournal.class.getName());
+    private static final int MAGIC = 0x4353_4A4C; // "CSJL"
+    public static final int VERSION = 2;
+
+    private static final byte OP_NAME = 1;
+    private static final byte OP_BUILD = 2;
+    private static final byte OP_TAX_RATE = 3;
+    private static final byte OP_VAT_RATE = 4;
+    private static final byte OP_TICK = 5;
+
+    // Receives the journal contents in order
+    public interface Handler {
+        void start(Properties config);
+
+        void setCityName(String name);
+
+        void buildBuildings(BuildingType type, int count);
+
+        void setTaxRate(double taxRate);
+
+        void setVatRate(double vatRate);
+
+        void tick();
+    }
+
+    private final Path file;
+    private final DataOutputStream out;
+    private boolean failed;
+
+    private CommandJournal(Path file, DataOutputStream out) {
+        this.file = file;
+        this.out = out;
+        this.failed = false;
+    }
+
+    // Starts a new journal, replacing any existing file
+    public static CommandJournal create(Path file, GameConfig config) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+        Properties props = config.toProperties();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(props.size());
+        for (String key : props.stringPropertyNames()) {
+            out.writeUTF(key);
+            out.writeUTF(props.getProperty(key));
+        }
+        out.flush();
+        return new CommandJournal(file, out);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void recordCityName(String name) {
+        if (begin(OP_NAME)) {
+            try {
+                out.writeUTF(name);
+                end();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    public synchronized void recordBuild(BuildingType type, int count) {
+        if (begin(OP_BUILD)) {
+            try {
+                out.writeUTF(type.getTypeName());
+                out.writeInt(count);
+                end();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    public synchronized void recordTaxRate(double taxRate) {
+        if (begin(OP_TAX_RATE)) {
+            try {
+                out.writeDouble(taxRate);
+                end();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    public synchronized void recordVatRate(double vatRate) {
+        if (begin(OP_VAT_RATE)) {
+            try {
+                out.writeDouble(vatRate);
+                end();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    public synchronized void recordTick() {
+        if (begin(OP_TICK)) {
+            end();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // Feeds the journal to handler; a record cut off by a crash ends the replay instead of failing it
+    public static void read(Path file, Handler handler) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            DataInputStream in = new DataInputStream(input);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a command journal: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported journal version " + version + " (expected " + VERSION + ")");
+            }
+            Properties config = new Properties();
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                config.setProperty(in.readUTF(), in.readUTF());
+            }
+            handler.start(config);
+
+            int opcode;
+            while ((opcode = in.read()) >= 0) {
+                try {
+                    switch (opcode) {
+                        case OP_NAME -> handler.setCityName(in.readUTF());
+                        case OP_BUILD -> {
+                            String typeName = in.readUTF();
+                            int count = in.readInt();
+                            BuildingType type = BuildingType.fromTypeName(typeName);
+                            if (type == null) {
+                                throw new IOException("Unknown building type '" + typeName + "' in journal");
+                            }
+                            handler.buildBuildings(type, count);
+                        }
+                        case OP_TAX_RATE -> handler.setTaxRate(in.readDouble());
+                        case OP_VAT_RATE -> handler.setVatRate(in.readDouble());
+                        case OP_TICK -> handler.tick();
+                        default -> throw new IOException("Unknown journal opcode " + opcode);
+                    }
+                } catch (EOFException e) {
+                    logger.log(Level.WARNING, "Journal " + file + " ends with an incomplete record; replay stops there");
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean begin(byte opcode) {
+        if (failed) {
+            return false;
+        }
+        try {
+            out.writeByte(opcode);
+            return true;
+        } catch (IOException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void end() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // A broken journal must not stop the game; it just stops recording
+    private void fail(IOException e) {
+        failed = true;
+        logger.log(Level.WARNING, "Failed to write command journal " + file + ", journaling disabled", e);
+    }
+}
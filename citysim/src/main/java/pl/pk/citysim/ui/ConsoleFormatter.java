@@ -1,7 +1,10 @@
 package pl.pk.citysim.ui;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import pl.pk.citysim.model.EventSeverity;
 
 public class ConsoleFormatter {
     private static final String HORIZONTAL_LINE = "─";
@@ -46,14 +49,35 @@ public class ConsoleFormatter {
     }
 
     public static String createTable(String[] headers, List<String[]> rows) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTable(sb, headers, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+
+    public static String createKeyValueTable(String title, Map<String, String> data) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeKeyValueTable(sb, title, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    // Streams the table into out. Column widths come from a first pass over rows, so rows may be a view
+    // that produces its rows on the fly; nothing but the widths is kept between the two passes.
+    public static void writeTable(Appendable out, String[] headers, Iterable<String[]> rows) throws IOException {
         if (headers == null || rows == null || headers.length == 0) {
-            return "";
+            return;
         }
         int[] columnWidths = new int[headers.length];
         for (int i = 0; i < headers.length; i++) {
             columnWidths[i] = headers[i].length();
         }
-
         for (String[] row : rows) {
             for (int i = 0; i < Math.min(row.length, headers.length); i++) {
                 if (row[i] != null && row[i].length() > columnWidths[i]) {
@@ -61,79 +85,101 @@ public class ConsoleFormatter {
                 }
             }
         }
+        TableWriter table = startTable(out, headers, columnWidths);
+        for (String[] row : rows) {
+            table.row(row);
+        }
+        table.end();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(TOP_LEFT);
+    // Single-pass table: writes the top border and headers now, then one row per row() call.
+    // Columns are at least as wide as the header and the hint; a longer cell pushes its own row out of line.
+    public static TableWriter startTable(Appendable out, String[] headers, int[] widthHints) throws IOException {
+        int[] columnWidths = new int[headers.length];
         for (int i = 0; i < headers.length; i++) {
-            sb.append(HORIZONTAL_LINE.repeat(columnWidths[i] + 2));
-            sb.append(i < headers.length - 1 ? T_DOWN : TOP_RIGHT);
+            int hint = widthHints != null && i < widthHints.length ? widthHints[i] : 0;
+            columnWidths[i] = Math.max(headers[i].length(), hint);
         }
-        sb.append("\n");
-        sb.append(VERTICAL_LINE);
-        for (int i = 0; i < headers.length; i++) {
-            sb.append(" ");
-            sb.append(useColors ? ANSI_BOLD : "");
-            sb.append(padRight(headers[i], columnWidths[i]));
-            sb.append(useColors ? ANSI_RESET : "");
-            sb.append(" ");
-            sb.append(VERTICAL_LINE);
+        return new TableWriter(out, headers, columnWidths);
+    }
+
+    public static void writeKeyValueTable(Appendable out, String title, Map<String, String> data) throws IOException {
+        if (data == null || data.isEmpty()) {
+            return;
         }
-        sb.append("\n");
-        sb.append(T_RIGHT);
-        for (int i = 0; i < headers.length; i++) {
-            sb.append(HORIZONTAL_LINE.repeat(columnWidths[i] + 2));
-            sb.append(i < headers.length - 1 ? CROSS : T_LEFT);
+        out.append(createHeader(title));
+        int maxKeyLength = 0;
+        for (String key : data.keySet()) {
+            maxKeyLength = Math.max(maxKeyLength, key.length());
         }
-        sb.append("\n");
-        for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
-            String[] row = rows.get(rowIdx);
-            sb.append(VERTICAL_LINE);
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            out.append(entry.getKey()).append(':');
+            pad(out, maxKeyLength - entry.getKey().length());
+            out.append(' ').append(entry.getValue()).append('\n');
+        }
+    }
+
+    // Writes rows as they come; the border lines are built once per table
+    public static final class TableWriter {
+        private final Appendable out;
+        private final int[] columnWidths;
+        private final String rowSeparator;
+        private final String bottomBorder;
+        private boolean hasRows;
+
+        private TableWriter(Appendable out, String[] headers, int[] columnWidths) throws IOException {
+            this.out = out;
+            this.columnWidths = columnWidths;
+            this.rowSeparator = border(columnWidths, T_RIGHT, CROSS, T_LEFT);
+            this.bottomBorder = border(columnWidths, BOTTOM_LEFT, T_UP, BOTTOM_RIGHT);
+            out.append(border(columnWidths, TOP_LEFT, T_DOWN, TOP_RIGHT));
+            out.append(VERTICAL_LINE);
             for (int i = 0; i < headers.length; i++) {
-                sb.append(" ");
-                String cell = i < row.length ? row[i] : "";
-                sb.append(padRight(cell != null ? cell : "", columnWidths[i]));
-                sb.append(" ");
-                sb.append(VERTICAL_LINE);
-            }
-            sb.append("\n");
-            if (rowIdx < rows.size() - 1) {
-                sb.append(T_RIGHT);
-                for (int i = 0; i < headers.length; i++) {
-                    sb.append(HORIZONTAL_LINE.repeat(columnWidths[i] + 2));
-                    sb.append(i < headers.length - 1 ? CROSS : T_LEFT);
-                }
-                sb.append("\n");
+                out.append(' ');
+                out.append(useColors ? ANSI_BOLD : "");
+                cell(headers[i], columnWidths[i]);
+                out.append(useColors ? ANSI_RESET : "");
+                out.append(' ');
+                out.append(VERTICAL_LINE);
             }
+            out.append('\n');
+            out.append(rowSeparator);
         }
-        sb.append(BOTTOM_LEFT);
-        for (int i = 0; i < headers.length; i++) {
-            sb.append(HORIZONTAL_LINE.repeat(columnWidths[i] + 2));
-            sb.append(i < headers.length - 1 ? T_UP : BOTTOM_RIGHT);
-        }
-        sb.append("\n");
 
-        return sb.toString();
-    }
+        public TableWriter row(String... cells) throws IOException {
+            if (hasRows) {
+                out.append(rowSeparator);
+            }
+            hasRows = true;
+            out.append(VERTICAL_LINE);
+            for (int i = 0; i < columnWidths.length; i++) {
+                out.append(' ');
+                cell(i < cells.length ? cells[i] : null, columnWidths[i]);
+                out.append(' ');
+                out.append(VERTICAL_LINE);
+            }
+            out.append('\n');
+            return this;
+        }
 
-    public static String createKeyValueTable(String title, Map<String, String> data) {
-        if (data == null || data.isEmpty()) {
-            return "";
+        public void end() throws IOException {
+            out.append(bottomBorder);
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(createHeader(title));
-        int maxKeyLength = data.keySet().stream()
-                .mapToInt(String::length)
-                .max()
-                .orElse(10);
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            sb.append(padRight(entry.getKey() + ":", maxKeyLength + 1))
-              .append(" ")
-              .append(entry.getValue())
-              .append("\n");
+        private void cell(String text, int width) throws IOException {
+            String value = text != null ? text : "";
+            out.append(value);
+            pad(out, width - value.length());
         }
 
-        return sb.toString();
+        private static String border(int[] columnWidths, String left, String middle, String right) {
+            StringBuilder sb = new StringBuilder(left);
+            for (int i = 0; i < columnWidths.length; i++) {
+                sb.append(HORIZONTAL_LINE.repeat(columnWidths[i] + 2));
+                sb.append(i < columnWidths.length - 1 ? middle : right);
+            }
+            return sb.append('\n').toString();
+        }
     }
 
     public static String highlightWarning(String text) {
@@ -168,6 +214,21 @@ public class ConsoleFormatter {
         }
     }
 
+    // Colours an event by the severity it was tagged with
+    public static String formatLogEntry(String logEntry, EventSeverity severity) {
+        switch (severity) {
+            case CRITICAL:
+                return highlightError(logEntry);
+            case WARNING:
+                return highlightWarning(logEntry);
+            case POSITIVE:
+                return highlightSuccess(logEntry);
+            default:
+                return logEntry;
+        }
+    }
+
+    // For text without tags; guesses the severity from keywords
     public static String formatLogEntry(String logEntry) {
         String upperLogEntry = logEntry.toUpperCase();
         if (upperLogEntry.contains("FIRE") || upperLogEntry.contains("EPIDEMIC") || 
@@ -190,10 +251,9 @@ public class ConsoleFormatter {
         return useColors;
     }
 
-    private static String padRight(String s, int length) {
-        if (s == null) {
-            s = "";
+    private static void pad(Appendable out, int spaces) throws IOException {
+        for (int i = 0; i < spaces; i++) {
+            out.append(' ');
         }
-        return s + " ".repeat(Math.max(0, length - s.length()));
     }
 }
@@ -0,0 +1,65 @@
+package pl.pk.citysim.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+// Collects console text and hands it to the stream in a single write on flush(). Text only goes out
+// before that once MAX_PENDING_CHARS are waiting, so a very long report is still written in large pieces.
+// Closing flushes but leaves the stream open, since it is normally System.out.
+final class ConsoleOutput extends Writer {
+    static final int MAX_PENDING_CHARS = 1 << 16;
+
+    private final OutputStream stream;
+    private final Charset charset;
+    private final StringBuilder pending;
+
+    ConsoleOutput(OutputStream stream, Charset charset) {
+        this.stream = stream;
+        this.charset = charset;
+        this.pending = new StringBuilder(4096);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            pending.append(cbuf, off, len);
+            if (pending.length() >= MAX_PENDING_CHARS) {
+                writePending();
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        synchronized (lock) {
+            pending.append(str, off, off + len);
+            if (pending.length() >= MAX_PENDING_CHARS) {
+                writePending();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            writePending();
+            stream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writePending() throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+        byte[] bytes = pending.toString().getBytes(charset);
+        pending.setLength(0);
+        stream.write(bytes, 0, bytes.length);
+    }
+}
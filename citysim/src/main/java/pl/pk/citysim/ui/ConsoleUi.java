@@ -8,38 +8,42 @@ import pl.pk.citysim.model.Highscore;
 import pl.pk.citysim.service.CityService;
 import pl.pk.citysim.model.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ConsoleUi {
     private static final Logger logger = Logger.getLogger(ConsoleUi.class.getName());
     private static final int MAX_HIGHSCORES = 10; // Same value as in Highscore class
-    private static final Map<String, Class<? extends Building>> BUILDING_MAP = new HashMap<>();
-
-    static {
-        BUILDING_MAP.put("RESIDENTIAL", ResidentialBuilding.class);
-        BUILDING_MAP.put("COMMERCIAL", CommercialBuilding.class);
-        BUILDING_MAP.put("INDUSTRIAL", IndustrialBuilding.class);
-        BUILDING_MAP.put("PARK", ParkBuilding.class);
-        BUILDING_MAP.put("SCHOOL", SchoolBuilding.class);
-        BUILDING_MAP.put("HOSPITAL", HospitalBuilding.class);
-        BUILDING_MAP.put("WATER_PLANT", WaterPlantBuilding.class);
-        BUILDING_MAP.put("POWER_PLANT", PowerPlantBuilding.class);
-    }
 
     private final CityService cityService;
     private final GameLoop gameLoop;
     private final Scanner scanner;
+    private final PrintWriter out; // Everything the UI prints; goes to the console at the flush points only
+    // Held by the console thread across each command and its flush, and by the clock thread while it prints,
+    // so a real-time status line never lands in the middle of a command's output
+    private final ReentrantLock outputLock = new ReentrantLock();
     private boolean running;
     private boolean waitingForCityName;
 
     public ConsoleUi(CityService cityService, GameLoop gameLoop) {
+        this(cityService, gameLoop, System.in, System.out);
+    }
+
+    public ConsoleUi(CityService cityService, GameLoop gameLoop, InputStream input, PrintStream output) {
         this.cityService = cityService;
         this.gameLoop = gameLoop;
-        this.scanner = new Scanner(System.in);
+        this.scanner = new Scanner(input);
+        this.out = new PrintWriter(new ConsoleOutput(output, output.charset()), false);
         this.running = false;
         this.waitingForCityName = true; // Start by waiting for city name
     }
@@ -47,70 +51,240 @@ public class ConsoleUi {
     public void start() {
         if (!running) {
             running = true;
-            System.out.println("Welcome to CitySim!");
+            out.println("Welcome to CitySim!");
             if (waitingForCityName) {
-                System.out.println("Please enter a name for your city:");
-                System.out.print("> ");
-                String cityName = scanner.nextLine().trim();
+                out.println("Please enter a name for your city:");
+                String cityName = readLine();
                 if (cityName.isEmpty()) {
                     cityName = "Unnamed City";
                 }
-                cityService.getCity().setName(cityName);
+                cityService.setCityName(cityName);
                 waitingForCityName = false;
-                System.out.println("City name set to: " + cityName);
-                System.out.println();
+                out.println("City name set to: " + cityName);
+                out.println();
             }
             if (!cityService.isSandboxMode()) {
-                System.out.println(ConsoleFormatter.highlightSuccess(
+                out.println(ConsoleFormatter.highlightSuccess(
                     "OBJECTIVE: Achieve the highest population possible within " + 
                     GameConfig.MAX_DAYS + " days!"));
-                System.out.println("The game will end after " + GameConfig.MAX_DAYS + 
+                out.println("The game will end after " + GameConfig.MAX_DAYS + 
                     " days, or if your city goes bankrupt or is abandoned.");
-                System.out.println();
+                out.println();
             }
 
-            System.out.println("Available commands:");
+            out.println("Available commands:");
             if (cityService.isSandboxMode()) {
-                System.out.println(ConsoleFormatter.highlightInfo("SANDBOX MODE ACTIVE - No game over conditions, no highscores"));
-                System.out.println();
+                out.println(ConsoleFormatter.highlightInfo("SANDBOX MODE ACTIVE - No game over conditions, no highscores"));
+                out.println();
             }
 
-            System.out.println("  build <building_type>       - Build a new building");
-            System.out.println("  tax set <income|vat> <rate> - Set tax rates (percentage)");
-            System.out.println("    - income: 0-40% allowed range");
-            System.out.println("    - vat: 0-25% allowed range");
-            System.out.println("  stats                      - Display city statistics");
-            System.out.println("  highscore                  - Display the highscore table");
-            System.out.println("  exit                       - Exit the game");
-            System.out.println();
-            System.out.println(ConsoleFormatter.highlightInfo("Type 'continue' to advance to the next day."));
-            System.out.println();
-            System.out.println(cityService.getCityStats());
+            out.println("  build <building_type>       - Build a new building");
+            out.println("  tax set <income|vat> <rate> - Set tax rates (percentage)");
+            out.println("    - income: 0-40% allowed range");
+            out.println("    - vat: 0-25% allowed range");
+            out.println("  stats                      - Display city statistics");
+            out.println("  ff <days>                  - Fast-forward several days");
+            out.println("  highscore                  - Display the highscore table");
+            out.println("  exit                       - Exit the game");
+            out.println();
+            if (gameLoop.isRealTime()) {
+                out.println(ConsoleFormatter.highlightInfo("Real-time mode: a new day starts every "
+                        + cityService.getConfig().getTickIntervalMs() + " ms. Type 'pause' or 'resume' to control the clock."));
+            } else {
+                out.println(ConsoleFormatter.highlightInfo("Type 'continue' to advance to the next day."));
+            }
+            out.println();
+            print(cityService::writeCityStats);
+            if (gameLoop.isRealTime()) {
+                gameLoop.startRealTime();
+            }
             while (running) {
-                System.out.print("> ");
-                String input = scanner.nextLine().trim();
-
-                if (input.equalsIgnoreCase("continue") || input.equalsIgnoreCase("c") || 
-                    input.equalsIgnoreCase("run") || input.equalsIgnoreCase("r") || 
-                    input.equalsIgnoreCase("resume")) {
-                    boolean continueGame = gameLoop.tick();
-                    if (!continueGame) {
+                String input = readLine();
+                outputLock.lock();
+                try {
+                    if (!handleInput(input)) {
                         break;
                     }
-                } else if (!input.isEmpty()) {
-                    try {
-                        processCommand(input);
-                    } catch (Exception e) {
-                        System.out.println("Error processing command: " + e.getMessage());
-                        logger.log(Level.SEVERE, "Error processing command: " + input, e);
-                    }
+                } finally {
+                    out.flush();
+                    outputLock.unlock();
                 }
             }
         }
     }
+
+    // Runs one line of input; false when the game has ended
+    private boolean handleInput(String input) {
+        if (gameLoop.isRealTime()) {
+            processRealTimeInput(input);
+        } else if (isFastForward(input)) {
+            return fastForward(input);
+        } else if (input.equalsIgnoreCase("continue") || input.equalsIgnoreCase("c") || 
+            input.equalsIgnoreCase("run") || input.equalsIgnoreCase("r") || 
+            input.equalsIgnoreCase("resume")) {
+            return gameLoop.tick();
+        } else if (!input.isEmpty()) {
+            try {
+                processCommand(input);
+            } catch (Exception e) {
+                out.println("Error processing command: " + e.getMessage());
+                logger.log(Level.SEVERE, "Error processing command: " + input, e);
+            }
+        }
+        return true;
+    }
+
+    // Prompts for a line; whatever the last command printed goes out together with the prompt
+    private String readLine() {
+        outputLock.lock();
+        try {
+            out.print("> ");
+            out.flush();
+        } finally {
+            outputLock.unlock();
+        }
+        return scanner.nextLine().trim();
+    }
+    // Input handling while the clock thread advances the days; commands run under the loop's city lock
+    private void processRealTimeInput(String input) {
+        if (input.isEmpty()) {
+            return;
+        }
+        if (isFastForward(input)) {
+            if (!gameLoop.isRealTimeRunning()) {
+                out.println(ConsoleFormatter.highlightInfo("The game is over. Type 'exit' to quit."));
+                return;
+            }
+            // The clock is held while the days run so the two do not interleave
+            boolean wasPaused = gameLoop.isPaused();
+            gameLoop.pause();
+            if (!fastForward(input)) {
+                gameLoop.stopRealTime();
+            } else if (!wasPaused) {
+                gameLoop.resume();
+            }
+            return;
+        }
+        String command = input.split("\\s+", 2)[0].toLowerCase();
+        switch (command) {
+            case "pause":
+                gameLoop.pause();
+                out.println(ConsoleFormatter.highlightInfo("Simulation paused. Type 'resume' to continue."));
+                return;
+            case "resume":
+            case "continue":
+            case "c":
+            case "run":
+            case "r":
+                if (!gameLoop.isRealTimeRunning()) {
+                    out.println(ConsoleFormatter.highlightInfo("The game is over. Type 'exit' to quit."));
+                } else if (gameLoop.isPaused()) {
+                    gameLoop.resume();
+                    out.println(ConsoleFormatter.highlightInfo("Simulation resumed."));
+                } else {
+                    out.println(ConsoleFormatter.highlightInfo("The simulation is already running."));
+                }
+                return;
+            default:
+                try {
+                    gameLoop.runExclusive(() -> processCommand(input));
+                } catch (Exception e) {
+                    out.println("Error processing command: " + e.getMessage());
+                    logger.log(Level.SEVERE, "Error processing command: " + input, e);
+                }
+        }
+    }
+
+    // "ff <days>" or "run <days>"; a bare "run" is still a single step
+    private boolean isFastForward(String input) {
+        String[] parts = input.split("\\s+");
+        String command = parts[0].toLowerCase();
+        return parts.length == 2 && (command.equals("ff") || command.equals("run") || command.equals("r"));
+    }
+
+    // Returns false when the game ended during the run
+    private boolean fastForward(String input) {
+        int days;
+        try {
+            days = Integer.parseInt(input.split("\\s+")[1]);
+        } catch (NumberFormatException e) {
+            out.println(ConsoleFormatter.highlightError("ERROR: Number of days must be a whole number"));
+            return true;
+        }
+        if (days <= 0) {
+            out.println(ConsoleFormatter.highlightError("ERROR: Number of days must be positive"));
+            return true;
+        }
+
+        long started = System.nanoTime();
+        GameLoop.FastForwardResult result = gameLoop.fastForward(days);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Day", String.valueOf(result.getStartDay()), String.valueOf(result.getEndDay()),
+                formatChange(result.getEndDay() - result.getStartDay())});
+        rows.add(new String[]{"Families", String.valueOf(result.getStartFamilies()), String.valueOf(result.getEndFamilies()),
+                formatChange(result.getEndFamilies() - result.getStartFamilies())});
+        rows.add(new String[]{"Budget", "$" + result.getStartBudget(), "$" + result.getEndBudget(),
+                formatChange(result.getEndBudget() - result.getStartBudget())});
+        rows.add(new String[]{"Satisfaction", result.getStartSatisfaction() + "%", result.getEndSatisfaction() + "%",
+                formatChange(result.getEndSatisfaction() - result.getStartSatisfaction())});
+        out.print(ConsoleFormatter.createHeader("FAST FORWARD: " + result.getDaysRun() + " DAYS"));
+        out.print(ConsoleFormatter.createTable(new String[]{"", "Before", "After", "Change"}, rows));
+        out.println("Total income: $" + result.getTotalIncome() + ", total expenses: $" + result.getTotalExpenses()
+                + " (" + millis + " ms)");
+
+        if (result.isGameOver()) {
+            handleGameOver();
+            return false;
+        }
+        cityService.saveHighscore();
+        out.println(ConsoleFormatter.highlightInfo("Type 'stats' for the full city report."));
+        return true;
+    }
+
+    private static String formatChange(int change) {
+        return change > 0 ? "+" + change : String.valueOf(change);
+    }
+
+    // One line per simulated day; the full stats stay behind the 'stats' command
+    public String formatRealTimeStatus() {
+        City city = cityService.getCity();
+        return ConsoleFormatter.highlightInfo(String.format("Day %d: %d families, budget $%d, satisfaction %d%%",
+                city.getDay(), city.getFamilies(), city.getBudget(), city.getSatisfaction()));
+    }
+
+    // Called from the clock thread; waits for a running command to finish its output, then flushes the line
+    public void showRealTimeStatus(String status) {
+        printFromClock(status + System.lineSeparator());
+    }
+
+    // The wait is interruptible so stopping the clock from inside a command cannot deadlock on the output
+    private void printFromClock(String text) {
+        try {
+            outputLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            out.print(text);
+            out.flush();
+        } finally {
+            outputLock.unlock();
+        }
+    }
+
     public void stop() {
+        gameLoop.stopRealTime();
         running = false;
-        System.out.println("Console UI stopped.");
+        outputLock.lock();
+        try {
+            out.println("Console UI stopped.");
+            out.flush();
+        } finally {
+            outputLock.unlock();
+        }
     }
 
     private void processCommand(String input) {
@@ -121,10 +295,10 @@ public class ConsoleUi {
         switch (command) {
             case "build":
                 if (parts.length < 2) {
-                    System.out.println(ConsoleFormatter.highlightError("ERROR: Missing building type"));
-                    System.out.println(ConsoleFormatter.createDivider());
-                    System.out.println("Usage: build <building_type> [count]");
-                    System.out.println("Available building types: " + 
+                    out.println(ConsoleFormatter.highlightError("ERROR: Missing building type"));
+                    out.println(ConsoleFormatter.createDivider());
+                    out.println("Usage: build <building_type> [count]");
+                    out.println("Available building types: " + 
                             String.join(", ", getBuildingTypeNames()));
                 } else {
                     String[] buildParts = parts[1].split("\\s+", 2);
@@ -134,31 +308,28 @@ public class ConsoleUi {
                         try {
                             count = Integer.parseInt(buildParts[1]);
                             if (count <= 0) {
-                                System.out.println(ConsoleFormatter.highlightError(
+                                out.println(ConsoleFormatter.highlightError(
                                     "ERROR: Building count must be positive"));
                                 break;
                             }
                         } catch (NumberFormatException e) {
-                            System.out.println(ConsoleFormatter.highlightError(
+                            out.println(ConsoleFormatter.highlightError(
                                 "ERROR: Invalid building count: " + buildParts[1]));
                             break;
                         }
                     }
 
-                    Class<? extends Building> buildingClass = BUILDING_MAP.get(buildingTypeName);
-                    if (buildingClass == null) {
-                        System.out.println(ConsoleFormatter.highlightError("ERROR: Unknown building type: " + buildingTypeName));
-                        System.out.println(ConsoleFormatter.createDivider());
-                        System.out.println("Available building types: " + String.join(", ", getBuildingTypeNames()));
+                    BuildingType buildingType = BuildingType.fromKey(buildingTypeName);
+                    if (buildingType == null) {
+                        out.println(ConsoleFormatter.highlightError("ERROR: Unknown building type: " + buildingTypeName));
+                        out.println(ConsoleFormatter.createDivider());
+                        out.println("Available building types: " + String.join(", ", getBuildingTypeNames()));
                         break;
                     }
-                    String typeName = BUILDING_MAP.entrySet().stream()
-                            .filter(e -> e.getValue() == buildingClass)
-                            .map(Map.Entry::getKey)
-                            .findFirst().orElse(buildingClass.getSimpleName());
-                    boolean success = cityService.buildBuildings(buildingClass, count);
+                    String typeName = buildingType.name();
+                    boolean success = cityService.buildBuildings(buildingType, count);
                     try {
-                        CityService.BuildingCost buildingCost = cityService.calculateBuildingCost(buildingClass);
+                        CityService.BuildingCost buildingCost = cityService.calculateBuildingCost(buildingType);
                         if (success) {
                             int baseCost = buildingCost.getBaseCost();
                             int actualCost = buildingCost.getActualCost();
@@ -166,71 +337,71 @@ public class ConsoleUi {
 
 
                             if (count == 1) {
-                                System.out.println(ConsoleFormatter.highlightSuccess(
+                                out.println(ConsoleFormatter.highlightSuccess(
                                     "SUCCESS: Built a new " + typeName));
                             } else {
-                                System.out.println(ConsoleFormatter.highlightSuccess(
+                                out.println(ConsoleFormatter.highlightSuccess(
                                     "SUCCESS: Built " + count + " new " + typeName + " buildings"));
                             }
-                            System.out.println("Base cost per building: $" + baseCost);
+                            out.println("Base cost per building: $" + baseCost);
                             if (multiplier > 1.0) {
-                                System.out.println("Actual cost per building: $" + actualCost + 
+                                out.println("Actual cost per building: $" + actualCost + 
                                     " (x" + String.format("%.1f", multiplier) + " due to city size)");
                             } else {
-                                System.out.println("Actual cost per building: $" + actualCost);
+                                out.println("Actual cost per building: $" + actualCost);
                             }
-                            System.out.println("Daily upkeep per building: $" + newInstance(buildingClass).getUpkeep());
+                            out.println("Daily upkeep per building: $" + buildingType.getUpkeep());
 
                             if (count > 1) {
-                                System.out.println("Total initial cost: $" + (actualCost * count));
-                                System.out.println("Total daily upkeep: $" + (newInstance(buildingClass).getUpkeep() * count));
+                                out.println("Total initial cost: $" + (actualCost * count));
+                                out.println("Total daily upkeep: $" + (buildingType.getUpkeep() * count));
                             }
                         } else {
                             int actualCost = buildingCost.getActualCost();
                             double multiplier = buildingCost.getMultiplier();
 
                             if (count == 1) {
-                                System.out.println(ConsoleFormatter.highlightError(
+                                out.println(ConsoleFormatter.highlightError(
                                     "ERROR: Failed to build " + typeName + " - not enough budget"));
-                                System.out.println("Required budget: $" + actualCost);
+                                out.println("Required budget: $" + actualCost);
                                 if (multiplier > 1.0) {
-                                    System.out.println("Note: Cost includes x" + String.format("%.1f", multiplier) + 
+                                    out.println("Note: Cost includes x" + String.format("%.1f", multiplier) + 
                                         " multiplier due to city size");
                                 }
                             } else {
-                                System.out.println(ConsoleFormatter.highlightError(
+                                out.println(ConsoleFormatter.highlightError(
                                     "ERROR: Failed to build " + count + " " + typeName + " buildings - not enough budget"));
-                                System.out.println("Required budget: $" + (actualCost * count));
+                                out.println("Required budget: $" + (actualCost * count));
                                 if (multiplier > 1.0) {
-                                    System.out.println("Note: Cost includes x" + String.format("%.1f", multiplier) + 
+                                    out.println("Note: Cost includes x" + String.format("%.1f", multiplier) + 
                                         " multiplier due to city size");
                                 }
                             }
-                            System.out.println("Current budget: $" + cityService.getCity().getBudget());
+                            out.println("Current budget: $" + cityService.getCity().getBudget());
                         }
                     } catch (Exception e) {
-                        System.out.println(ConsoleFormatter.highlightError("ERROR: " + e.getMessage()));
+                        out.println(ConsoleFormatter.highlightError("ERROR: " + e.getMessage()));
                     }
                 }
                 break;
 
             case "tax":
                 if (parts.length < 2) {
-                    System.out.println(ConsoleFormatter.highlightError("ERROR: Invalid tax command"));
-                    System.out.println(ConsoleFormatter.createDivider());
-                    System.out.println("Usage: tax set <income|vat> <value>");
-                    System.out.println("Examples:");
-                    System.out.println("  tax set income 15 (sets income tax rate to 15%, allowed range: 0-40%)");
-                    System.out.println("  tax set vat 10 (sets VAT rate to 10%, allowed range: 0-25%)");
+                    out.println(ConsoleFormatter.highlightError("ERROR: Invalid tax command"));
+                    out.println(ConsoleFormatter.createDivider());
+                    out.println("Usage: tax set <income|vat> <value>");
+                    out.println("Examples:");
+                    out.println("  tax set income 15 (sets income tax rate to 15%, allowed range: 0-40%)");
+                    out.println("  tax set vat 10 (sets VAT rate to 10%, allowed range: 0-25%)");
                 } else {
                     String[] taxParts = parts[1].split("\\s+", 3);
                     if (taxParts.length < 3 || !taxParts[0].equalsIgnoreCase("set")) {
-                        System.out.println(ConsoleFormatter.highlightError("ERROR: Invalid tax command format"));
-                        System.out.println(ConsoleFormatter.createDivider());
-                        System.out.println("Usage: tax set <income|vat> <value>");
-                        System.out.println("Examples:");
-                        System.out.println("  tax set income 15 (sets income tax rate to 15%, allowed range: 0-40%)");
-                        System.out.println("  tax set vat 10 (sets VAT rate to 10%, allowed range: 0-25%)");
+                        out.println(ConsoleFormatter.highlightError("ERROR: Invalid tax command format"));
+                        out.println(ConsoleFormatter.createDivider());
+                        out.println("Usage: tax set <income|vat> <value>");
+                        out.println("Examples:");
+                        out.println("  tax set income 15 (sets income tax rate to 15%, allowed range: 0-40%)");
+                        out.println("  tax set vat 10 (sets VAT rate to 10%, allowed range: 0-25%)");
                     } else {
                         String taxType = taxParts[1].toLowerCase();
                         try {
@@ -238,46 +409,46 @@ public class ConsoleUi {
 
                             if (taxType.equals("income")) {
                                 if (taxValue < 0.0 || taxValue > 0.4) {
-                                    System.out.println(ConsoleFormatter.highlightError(
+                                    out.println(ConsoleFormatter.highlightError(
                                         "ERROR: Income tax rate must be between 0% and 40%"));
                                 } else {
                                     double oldRate = cityService.getCity().getTaxRate();
                                     cityService.setTaxRate(taxValue);
-                                    System.out.println(ConsoleFormatter.highlightSuccess(
+                                    out.println(ConsoleFormatter.highlightSuccess(
                                         "SUCCESS: Income tax changed from " + 
                                         String.format("%.1f%%", oldRate * 100) + " to " + 
                                         String.format("%.1f%%", taxValue * 100)));
-                                    System.out.println("Note: Family arrival chance and satisfaction may change.");
+                                    out.println("Note: Family arrival chance and satisfaction may change.");
                                 }
                             } else if (taxType.equals("vat")) {
                                 if (taxValue < 0.0 || taxValue > 0.25) {
-                                    System.out.println(ConsoleFormatter.highlightError(
+                                    out.println(ConsoleFormatter.highlightError(
                                         "ERROR: VAT rate must be between 0% and 25%"));
                                 } else {
                                     double oldRate = cityService.getCity().getVatRate();
                                     cityService.setVatRate(taxValue);
-                                    System.out.println(ConsoleFormatter.highlightSuccess(
+                                    out.println(ConsoleFormatter.highlightSuccess(
                                         "SUCCESS: VAT changed from " + 
                                         String.format("%.1f%%", oldRate * 100) + " to " + 
                                         String.format("%.1f%%", taxValue * 100)));
-                                    System.out.println("Note: Family arrival chance and satisfaction may change.");
+                                    out.println("Note: Family arrival chance and satisfaction may change.");
                                 }
                             } else {
-                                System.out.println(ConsoleFormatter.highlightError(
+                                out.println(ConsoleFormatter.highlightError(
                                     "ERROR: Unknown tax type: " + taxType));
-                                System.out.println("Available tax types: income, vat");
+                                out.println("Available tax types: income, vat");
                             }
                         } catch (NumberFormatException e) {
-                            System.out.println(ConsoleFormatter.highlightError(
+                            out.println(ConsoleFormatter.highlightError(
                                 "ERROR: Invalid tax value: " + taxParts[2]));
-                            System.out.println("Please enter a valid number (e.g., 15 for 15%)");
+                            out.println("Please enter a valid number (e.g., 15 for 15%)");
                         }
                     }
                 }
                 break;
 
             case "stats":
-                System.out.println(cityService.getCityStats());
+                print(cityService::writeCityStats);
                 break;
 
 
@@ -287,7 +458,7 @@ public class ConsoleUi {
                 break;
 
             case "highscore":
-                displayHighscores();
+                displayHighscores(out);
                 break;
 
 
@@ -295,158 +466,165 @@ public class ConsoleUi {
                 if (parts.length > 1 && (parts[1].equalsIgnoreCase("on") || parts[1].equalsIgnoreCase("off"))) {
                     boolean enableColors = parts[1].equalsIgnoreCase("on");
                     ConsoleFormatter.setColorsEnabled(enableColors);
-                    System.out.println("ANSI colors " + (enableColors ? "enabled" : "disabled"));
+                    out.println("ANSI colors " + (enableColors ? "enabled" : "disabled"));
                 } else {
-                    System.out.println("Usage: colors <on|off>");
+                    out.println("Usage: colors <on|off>");
                 }
                 break;
 
             case "exit":
-                System.out.println("Exiting CitySim. Goodbye!");
+                out.println("Exiting CitySim. Goodbye!");
                 stop();
                 System.exit(0);
                 break;
 
             case "pause":
-                System.out.println(ConsoleFormatter.highlightInfo("Pause system has been removed. Use 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day."));
+                // Only reached in turn-based mode; real-time input handles pause itself
+                out.println(ConsoleFormatter.highlightInfo("The game already waits for you after each day. 'pause' and 'resume' "
+                        + "control the clock in real-time mode (realTime=true). Use 'continue' to advance to the next day."));
                 break;
 
             case "resume":
             case "continue":
-                System.out.println(ConsoleFormatter.highlightInfo("Type 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day."));
+                out.println(ConsoleFormatter.highlightInfo("Type 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day."));
                 break;
 
             default:
-                System.out.println(ConsoleFormatter.highlightError("ERROR: Unknown command: " + command));
-                System.out.println(ConsoleFormatter.createDivider());
-                System.out.println("Available commands: build, tax, stats, highscore, help, colors, continue, c, run, r, resume, exit");
-                System.out.println("Type 'help' for more information about commands.");
+                out.println(ConsoleFormatter.highlightError("ERROR: Unknown command: " + command));
+                out.println(ConsoleFormatter.createDivider());
+                out.println("Available commands: build, tax, stats, highscore, help, colors, continue, c, run, r, resume, ff, exit");
+                out.println("Type 'help' for more information about commands.");
                 break;
         }
     }
 
     private void displayHelp(String command) {
         if (command == null) {
-            System.out.println(ConsoleFormatter.createHeader("CITYSIM HELP"));
-            System.out.println("Available commands:");
-            System.out.println();
+            out.println(ConsoleFormatter.createHeader("CITYSIM HELP"));
+            out.println("Available commands:");
+            out.println();
             if (cityService.isSandboxMode()) {
-                System.out.println(ConsoleFormatter.highlightInfo("SANDBOX MODE ACTIVE - No game over conditions, no highscores"));
-                System.out.println();
+                out.println(ConsoleFormatter.highlightInfo("SANDBOX MODE ACTIVE - No game over conditions, no highscores"));
+                out.println();
             }
 
-            System.out.println(ConsoleFormatter.highlightInfo("GAME COMMANDS:"));
-            System.out.println("  build <building_type> [count] - Build one or more buildings");
-            System.out.println("  tax set <income|vat> <rate>   - Set tax rates (percentage)");
-            System.out.println("  stats                         - Display city statistics");
-            System.out.println();
+            out.println(ConsoleFormatter.highlightInfo("GAME COMMANDS:"));
+            out.println("  build <building_type> [count] - Build one or more buildings");
+            out.println("  tax set <income|vat> <rate>   - Set tax rates (percentage)");
+            out.println("  stats                         - Display city statistics");
+            out.println();
 
 
-            System.out.println(ConsoleFormatter.highlightInfo("HIGHSCORE COMMANDS:"));
-            System.out.println("  highscore                   - Display the highscore table");
-            System.out.println();
+            out.println(ConsoleFormatter.highlightInfo("HIGHSCORE COMMANDS:"));
+            out.println("  highscore                   - Display the highscore table");
+            out.println();
 
 
-            System.out.println(ConsoleFormatter.highlightInfo("INTERFACE COMMANDS:"));
-            System.out.println("  continue, c, run, r, resume - Advance to the next day");
-            System.out.println("  help [command]              - Display help information");
-            System.out.println("  colors <on|off>             - Enable/disable colored output");
-            System.out.println("  exit                        - Exit the game");
-            System.out.println();
+            out.println(ConsoleFormatter.highlightInfo("INTERFACE COMMANDS:"));
+            out.println("  continue, c, run, r, resume - Advance to the next day");
+            out.println("  ff <days>, run <days>       - Simulate several days at once and show one report");
+            out.println("  help [command]              - Display help information");
+            out.println("  colors <on|off>             - Enable/disable colored output");
+            out.println("  exit                        - Exit the game");
+            out.println();
 
-            System.out.println("Type 'help <command>' for more information about a specific command.");
+            out.println("Type 'help <command>' for more information about a specific command.");
         } else {
             switch (command) {
                 case "build":
-                    System.out.println(ConsoleFormatter.createHeader("BUILD COMMAND HELP"));
-                    System.out.println("Usage: build <building_type>");
-                    System.out.println();
-                    System.out.println("Constructs a new building of the specified type in your city.");
-                    System.out.println("Each building has an initial cost (10x daily upkeep, scaled by city size) and provides different benefits.");
-                    System.out.println("Note: As your city grows, building costs increase (up to 3x for very large cities).");
-                    System.out.println();
-                    System.out.println("Available building types:");
-                    for (Map.Entry<String, Class<? extends Building>> entry : BUILDING_MAP.entrySet()) {
-                        Building tmp = newInstance(entry.getValue());
-                        System.out.println("  " + entry.getKey() + " - " + tmp.getDescription());
-                        if (tmp instanceof ResidentialBuilding || tmp instanceof CommercialBuilding || tmp instanceof IndustrialBuilding) {
-                            System.out.println("    Capacity: " + tmp.getCapacity() + (tmp instanceof ResidentialBuilding ? " families" : " jobs"));
-                        } else if (tmp instanceof SchoolBuilding) {
-                            System.out.println("    Serves up to " + tmp.getEducationCapacity() + " families");
-                        } else if (tmp instanceof HospitalBuilding) {
-                            System.out.println("    Serves up to " + tmp.getHealthcareCapacity() + " families");
-                        } else if (tmp instanceof WaterPlantBuilding || tmp instanceof PowerPlantBuilding) {
-                            System.out.println("    Serves up to " + tmp.getUtilityCapacity() + " families");
+                    out.println(ConsoleFormatter.createHeader("BUILD COMMAND HELP"));
+                    out.println("Usage: build <building_type>");
+                    out.println();
+                    out.println("Constructs a new building of the specified type in your city.");
+                    out.println("Each building has an initial cost (10x daily upkeep, scaled by city size) and provides different benefits.");
+                    out.println("Note: As your city grows, building costs increase (up to 3x for very large cities).");
+                    out.println();
+                    out.println("Available building types:");
+                    for (BuildingType type : BuildingType.values()) {
+                        out.println("  " + type.name() + " - " + type.getDescription());
+                        if (type == BuildingType.RESIDENTIAL || type == BuildingType.COMMERCIAL || type == BuildingType.INDUSTRIAL) {
+                            out.println("    Capacity: " + type.getCapacity() + (type == BuildingType.RESIDENTIAL ? " families" : " jobs"));
+                        } else if (type == BuildingType.SCHOOL) {
+                            out.println("    Serves up to " + type.getEducationCapacity() + " families");
+                        } else if (type == BuildingType.HOSPITAL) {
+                            out.println("    Serves up to " + type.getHealthcareCapacity() + " families");
+                        } else if (type == BuildingType.WATER_PLANT || type == BuildingType.POWER_PLANT) {
+                            out.println("    Serves up to " + type.getUtilityCapacity() + " families");
                         }
-                        CityService.BuildingCost buildingCost = cityService.calculateBuildingCost(entry.getValue());
+                        CityService.BuildingCost buildingCost = cityService.calculateBuildingCost(type);
                         int baseCost = buildingCost.getBaseCost();
                         int actualCost = buildingCost.getActualCost();
                         double multiplier = buildingCost.getMultiplier();
 
                         if (multiplier > 1.0) {
-                            System.out.println("    Base cost: $" + baseCost + ", Actual cost: $" + actualCost +
+                            out.println("    Base cost: $" + baseCost + ", Actual cost: $" + actualCost +
                                 " (x" + String.format("%.1f", multiplier) + " due to city size)");
                         } else {
-                            System.out.println("    Initial cost: $" + actualCost);
+                            out.println("    Initial cost: $" + actualCost);
                         }
-                        System.out.println("    Daily upkeep: $" + tmp.getUpkeep());
+                        out.println("    Daily upkeep: $" + type.getUpkeep());
                     }
                     break;
 
                 case "tax":
-                    System.out.println(ConsoleFormatter.createHeader("TAX COMMAND HELP"));
-                    System.out.println("Usage: tax set <income|vat> <rate>");
-                    System.out.println();
-                    System.out.println("Sets tax rates for your city. Higher taxes increase revenue but decrease satisfaction.");
-                    System.out.println();
-                    System.out.println("Tax types:");
-                    System.out.println("  income - Income tax applied to family earnings (0-40%)");
-                    System.out.println("  vat    - Value-added tax applied to spending (0-25%)");
-                    System.out.println();
-                    System.out.println("Examples:");
-                    System.out.println("  tax set income 15  - Sets income tax to 15%");
-                    System.out.println("  tax set vat 10     - Sets VAT to 10%");
+                    out.println(ConsoleFormatter.createHeader("TAX COMMAND HELP"));
+                    out.println("Usage: tax set <income|vat> <rate>");
+                    out.println();
+                    out.println("Sets tax rates for your city. Higher taxes increase revenue but decrease satisfaction.");
+                    out.println();
+                    out.println("Tax types:");
+                    out.println("  income - Income tax applied to family earnings (0-40%)");
+                    out.println("  vat    - Value-added tax applied to spending (0-25%)");
+                    out.println();
+                    out.println("Examples:");
+                    out.println("  tax set income 15  - Sets income tax to 15%");
+                    out.println("  tax set vat 10     - Sets VAT to 10%");
                     break;
 
                 case "stats":
-                    System.out.println(ConsoleFormatter.createHeader("STATS COMMAND HELP"));
-                    System.out.println("Usage: stats");
-                    System.out.println();
-                    System.out.println("Displays detailed statistics about your city, including:");
-                    System.out.println("  - Basic city information (day, population, budget, satisfaction)");
-                    System.out.println("  - Current tax rates");
-                    System.out.println("  - Building counts and descriptions");
-                    System.out.println("  - Service capacities and status");
-                    System.out.println("  - Recent events");
+                    out.println(ConsoleFormatter.createHeader("STATS COMMAND HELP"));
+                    out.println("Usage: stats");
+                    out.println();
+                    out.println("Displays detailed statistics about your city, including:");
+                    out.println("  - Basic city information (day, population, budget, satisfaction)");
+                    out.println("  - Current tax rates");
+                    out.println("  - Building counts and descriptions");
+                    out.println("  - Service capacities and status");
+                    out.println("  - Recent events");
                     break;
 
 
 
                 case "colors":
-                    System.out.println(ConsoleFormatter.createHeader("COLORS COMMAND HELP"));
-                    System.out.println("Usage: colors <on|off>");
-                    System.out.println();
-                    System.out.println("Enables or disables ANSI color codes in the output.");
-                    System.out.println("Colors can make the interface more readable but may not work in all terminals.");
-                    System.out.println();
-                    System.out.println("Examples:");
-                    System.out.println("  colors on   - Enables colored output");
-                    System.out.println("  colors off  - Disables colored output");
+                    out.println(ConsoleFormatter.createHeader("COLORS COMMAND HELP"));
+                    out.println("Usage: colors <on|off>");
+                    out.println();
+                    out.println("Enables or disables ANSI color codes in the output.");
+                    out.println("Colors can make the interface more readable but may not work in all terminals.");
+                    out.println();
+                    out.println("Examples:");
+                    out.println("  colors on   - Enables colored output");
+                    out.println("  colors off  - Disables colored output");
                     break;
 
                 case "exit":
-                    System.out.println(ConsoleFormatter.createHeader("EXIT COMMAND HELP"));
-                    System.out.println("Usage: exit");
-                    System.out.println();
-                    System.out.println("Exits the game. Any unsaved progress will be lost.");
+                    out.println(ConsoleFormatter.createHeader("EXIT COMMAND HELP"));
+                    out.println("Usage: exit");
+                    out.println();
+                    out.println("Exits the game. Any unsaved progress will be lost.");
                     break;
 
                 case "pause":
-                    System.out.println(ConsoleFormatter.createHeader("PAUSE COMMAND HELP"));
-                    System.out.println("Usage: pause");
-                    System.out.println();
-                    System.out.println("The pause system has been removed. The game now waits for a command after each day.");
-                    System.out.println("Use 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day.");
+                    out.println(ConsoleFormatter.createHeader("PAUSE COMMAND HELP"));
+                    out.println("Usage: pause");
+                    out.println();
+                    if (gameLoop.isRealTime()) {
+                        out.println("Stops the clock; no new days start until you type 'resume'.");
+                        out.println("Commands such as build, tax and stats still work while paused.");
+                    } else {
+                        out.println("Only used in real-time mode (realTime=true), where it stops the clock.");
+                        out.println("In turn-based mode the game already waits for a command after each day.");
+                    }
                     break;
 
                 case "resume":
@@ -454,44 +632,59 @@ public class ConsoleUi {
                 case "c":
                 case "run":
                 case "r":
-                    System.out.println(ConsoleFormatter.createHeader("CONTINUE COMMAND HELP"));
-                    System.out.println("Usage: continue");
-                    System.out.println("   or: c");
-                    System.out.println("   or: run");
-                    System.out.println("   or: r");
-                    System.out.println("   or: resume");
-                    System.out.println();
-                    System.out.println("Advances the game to the next day.");
-                    System.out.println("After each day, the game waits for one of these commands to continue.");
+                    out.println(ConsoleFormatter.createHeader("CONTINUE COMMAND HELP"));
+                    out.println("Usage: continue");
+                    out.println("   or: c");
+                    out.println("   or: run");
+                    out.println("   or: r");
+                    out.println("   or: resume");
+                    out.println();
+                    if (gameLoop.isRealTime()) {
+                        out.println("Restarts the clock after 'pause'; a new day then starts every "
+                                + cityService.getConfig().getTickIntervalMs() + " ms.");
+                    } else {
+                        out.println("Advances the game to the next day.");
+                        out.println("After each day, the game waits for one of these commands to continue.");
+                    }
+                    out.println("'run <days>' works like 'ff <days>'.");
+                    break;
+
+                case "ff":
+                    out.println(ConsoleFormatter.createHeader("FAST FORWARD COMMAND HELP"));
+                    out.println("Usage: ff <days>");
+                    out.println("   or: run <days>");
+                    out.println();
+                    out.println("Simulates the given number of days without stopping after each one.");
+                    out.println("Stops early if the game ends, then prints one summary of the whole run.");
                     break;
 
                 case "help":
-                    System.out.println(ConsoleFormatter.createHeader("HELP COMMAND HELP"));
-                    System.out.println("Usage: help [command]");
-                    System.out.println();
-                    System.out.println("Displays help information about commands.");
-                    System.out.println("If a command is specified, shows detailed help for that command.");
-                    System.out.println("Otherwise, shows a list of all available commands.");
+                    out.println(ConsoleFormatter.createHeader("HELP COMMAND HELP"));
+                    out.println("Usage: help [command]");
+                    out.println();
+                    out.println("Displays help information about commands.");
+                    out.println("If a command is specified, shows detailed help for that command.");
+                    out.println("Otherwise, shows a list of all available commands.");
                     break;
 
 
                 case "highscore":
-                    System.out.println(ConsoleFormatter.createHeader("HIGHSCORE COMMAND HELP"));
-                    System.out.println("Usage: highscore");
-                    System.out.println();
-                    System.out.println("Displays the highscore table showing the top players.");
-                    System.out.println("Highscores are based on a combination of:");
-                    System.out.println("  - Population (families)");
-                    System.out.println("  - Budget");
-                    System.out.println("  - Satisfaction level");
-                    System.out.println("  - Days survived");
-                    System.out.println();
-                    System.out.println("Note: Highscores are not recorded in sandbox mode.");
+                    out.println(ConsoleFormatter.createHeader("HIGHSCORE COMMAND HELP"));
+                    out.println("Usage: highscore");
+                    out.println();
+                    out.println("Displays the highscore table showing the top players.");
+                    out.println("Highscores are based on a combination of:");
+                    out.println("  - Population (families)");
+                    out.println("  - Budget");
+                    out.println("  - Satisfaction level");
+                    out.println("  - Days survived");
+                    out.println();
+                    out.println("Note: Highscores are not recorded in sandbox mode.");
                     break;
 
                 default:
-                    System.out.println(ConsoleFormatter.highlightError("ERROR: Unknown command: " + command));
-                    System.out.println("Type 'help' for a list of available commands.");
+                    out.println(ConsoleFormatter.highlightError("ERROR: Unknown command: " + command));
+                    out.println("Type 'help' for a list of available commands.");
                     break;
             }
         }
@@ -499,42 +692,46 @@ public class ConsoleUi {
 
 
     private String[] getBuildingTypeNames() {
-        return BUILDING_MAP.keySet().toArray(new String[0]);
-    }
-
-    private Building newInstance(Class<? extends Building> clazz) {
-        try {
-            return clazz.getConstructor(int.class).newInstance(0);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        BuildingType[] types = BuildingType.values();
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].name();
         }
+        return names;
     }
 
-    private void displayHighscores() {
-        System.out.println(ConsoleFormatter.createHeader("HIGHSCORE TABLE"));
+    private void displayHighscores(PrintWriter writer) {
+        writer.println(ConsoleFormatter.createHeader("HIGHSCORE TABLE"));
 
-        List<Highscore> highscores = Highscore.loadHighscores();
+        List<Highscore> highscores = Leaderboard.getInstance().getHighscores();
 
         if (highscores.isEmpty()) {
-            System.out.println("No highscores recorded yet. Be the first to make the list!");
+            writer.println("No highscores recorded yet. Be the first to make the list!");
         } else {
-            List<String[]> rows = new ArrayList<>();
-
-            for (int i = 0; i < highscores.size(); i++) {
-                Highscore h = highscores.get(i);
-                rows.add(new String[] {
-                    String.valueOf(i + 1),
-                    h.getCityName(),
-                    String.valueOf(h.getScore()),
-                    h.getFamilies() + " families",
-                    "$" + h.getBudget(),
-                    h.getSatisfaction() + "%",
-                    String.valueOf(h.getDays()),
-                    h.getFormattedAchievedTime()
-                });
-            }
+            // Rows are built as the table is written rather than collected up front
+            List<String[]> rows = new AbstractList<>() {
+                @Override
+                public String[] get(int i) {
+                    Highscore h = highscores.get(i);
+                    return new String[] {
+                        String.valueOf(i + 1),
+                        h.getCityName(),
+                        String.valueOf(h.getScore()),
+                        h.getFamilies() + " families",
+                        "$" + h.getBudget(),
+                        h.getSatisfaction() + "%",
+                        String.valueOf(h.getDays()),
+                        h.getFormattedAchievedTime()
+                    };
+                }
 
-            System.out.println(ConsoleFormatter.createTable(
+                @Override
+                public int size() {
+                    return highscores.size();
+                }
+            };
+
+            print(writer, table -> ConsoleFormatter.writeTable(table,
                 new String[] {"Rank", "City", "Score", "Population", "Budget", "Satisfaction", "Days", "Date"},
                 rows
             ));
@@ -545,74 +742,113 @@ public class ConsoleUi {
             int currentScore = cityService.calculateScore();
             int rank = Highscore.getRank(currentScore);
 
-            System.out.println(ConsoleFormatter.createDivider());
-            System.out.println("Your current score: " + currentScore);
+            writer.println(ConsoleFormatter.createDivider());
+            writer.println("Your current score: " + currentScore);
 
             if (rank > 0 && rank <= 10) {
-                System.out.println("Current rank: #" + rank + " (would make the highscore table)");
+                writer.println("Current rank: #" + rank + " (would make the highscore table)");
             } else {
-                System.out.println("Current rank: Not in top 10");
+                writer.println("Current rank: Not in top 10");
             }
         } else {
-            System.out.println(ConsoleFormatter.createDivider());
-            System.out.println(ConsoleFormatter.highlightInfo("SANDBOX MODE: Scores are not recorded in sandbox mode"));
+            writer.println(ConsoleFormatter.createDivider());
+            writer.println(ConsoleFormatter.highlightInfo("SANDBOX MODE: Scores are not recorded in sandbox mode"));
         }
     }
 
 
+    // Something that writes a report; the report goes straight to the console without being built as one string
+    private interface ConsoleReport {
+        void writeTo(Appendable out) throws IOException;
+    }
+
+    // Ends with a newline, like the println calls this replaces. The report is collected in the console buffer
+    // and leaves with the rest of the command's output in one write.
+    private void print(ConsoleReport report) {
+        print(out, report);
+    }
+
+    private static void print(PrintWriter writer, ConsoleReport report) {
+        try {
+            report.writeTo(writer);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write to the console", e); // PrintWriter itself never throws
+        }
+        writer.println();
+    }
+
     public void waitForSignalToContinue() {
-        System.out.println(cityService.getCityStats());
+        print(cityService::writeCityStats);
         cityService.saveHighscore();
         if (!cityService.isSandboxMode()) {
             int currentDay = cityService.getCity().getDay();
             int daysRemaining = GameConfig.MAX_DAYS - currentDay;
             int currentPopulation = cityService.getCity().getFamilies();
 
-            System.out.println(ConsoleFormatter.highlightInfo(
+            out.println(ConsoleFormatter.highlightInfo(
                 "Day " + currentDay + " completed. " + 
                 daysRemaining + " days remaining. Current population: " + currentPopulation + " families."));
-            System.out.println(ConsoleFormatter.highlightInfo(
+            out.println(ConsoleFormatter.highlightInfo(
                 "Type 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day..."));
         } else {
-            System.out.println(ConsoleFormatter.highlightInfo(
+            out.println(ConsoleFormatter.highlightInfo(
                 "Day " + cityService.getCity().getDay() + " completed. Type 'continue', 'c', 'run', 'r', or 'resume' to advance to the next day..."));
         }
     }
 
+    // Game over on the console thread: turn-based games and fast-forward runs
     public void handleGameOver() {
+        writeGameOver(out);
+    }
+
+    // Game over on the clock thread. The report is built while the city is locked and printed by showGameOver()
+    // after the lock is released, so a slow terminal does not hold up console commands.
+    public String formatGameOver() {
+        StringWriter report = new StringWriter();
+        PrintWriter writer = new PrintWriter(report);
+        writeGameOver(writer);
+        writer.flush();
+        return report.toString();
+    }
+
+    public void showGameOver(String report) {
+        printFromClock(report);
+    }
+
+    private void writeGameOver(PrintWriter writer) {
         if (cityService.getCity().getDay() >= GameConfig.MAX_DAYS && !cityService.isSandboxMode()) {
-            System.out.println(ConsoleFormatter.highlightSuccess("GAME COMPLETED!"));
-            System.out.println("You've reached day " + GameConfig.MAX_DAYS + " with a population of " + 
+            writer.println(ConsoleFormatter.highlightSuccess("GAME COMPLETED!"));
+            writer.println("You've reached day " + GameConfig.MAX_DAYS + " with a population of " + 
                 cityService.getCity().getFamilies() + " families!");
         } else {
-            System.out.println(ConsoleFormatter.highlightError("GAME OVER!"));
+            writer.println(ConsoleFormatter.highlightError("GAME OVER!"));
         }
 
-        System.out.println(cityService.getGameSummary());
+        print(writer, cityService::writeGameSummary);
         if (!cityService.isSandboxMode()) {
             int score = cityService.calculateScore();
             int rank = Highscore.getRank(score);
 
             if (rank > 0 && rank <= 10) {
-                System.out.println(ConsoleFormatter.highlightSuccess(
+                writer.println(ConsoleFormatter.highlightSuccess(
                     "Congratulations! Your score of " + score + " ranks #" + rank + " on the highscore table!"));
                 boolean success = cityService.saveHighscore();
                 if (success) {
-                    System.out.println(ConsoleFormatter.highlightSuccess(
+                    writer.println(ConsoleFormatter.highlightSuccess(
                         "SUCCESS: Highscore saved!"));
-                    displayHighscores();
+                    displayHighscores(writer);
                 } else {
-                    System.out.println(ConsoleFormatter.highlightError(
-                        "ERROR: Failed to save highscore or sandbox mode is active"));
+                    writer.println(ConsoleFormatter.highlightError(
+                        "ERROR: Highscores could not be written to disk; this score is kept until you exit"));
                 }
             } else {
-                System.out.println("Your score of " + score + " did not make the top 10 highscore table.");
-                System.out.println("Type 'exit' to quit or start a new game.");
+                writer.println("Your score of " + score + " did not make the top 10 highscore table.");
+                writer.println("Type 'exit' to quit or start a new game.");
             }
         } else {
-            System.out.println(ConsoleFormatter.highlightInfo(
+            writer.println(ConsoleFormatter.highlightInfo(
                 "SANDBOX MODE: Game over conditions were met, but sandbox mode prevents actual game over."));
-            System.out.println("You can continue playing or type 'exit' to quit.");
+            writer.println("You can continue playing or type 'exit' to quit.");
         }
     }
 }
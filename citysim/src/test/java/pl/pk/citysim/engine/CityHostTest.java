@@ -0,0 +1,311 @@
+package pl.pk.citysim.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.pk.citysim.model.EventLog;
+import pl.pk.citysim.model.EventSink;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.service.CityService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for hosting many cities on a shared worker pool.
+ */
+public class CityHostTest {
+
+    @TempDir
+    Path storageDir;
+
+    private CityHost host;
+
+    @AfterEach
+    void tearDown() {
+        if (host != null) {
+            host.close();
+        }
+    }
+
+    @Test
+    void testConcurrentTicksMatchSequentialGames() throws Exception {
+        Properties config = sandboxConfig();
+        host = new CityHost(config, storageDir, 4);
+        for (int i = 0; i < 30; i++) {
+            host.createCity("city-" + i, "City " + i, 1000L + i);
+        }
+
+        for (int day = 0; day < 8; day++) {
+            host.tickAll().get();
+        }
+
+        for (int i = 0; i < 30; i++) {
+            CityService reference = referenceGame(config, 1000L + i, 8);
+            int budget = host.submit("city-" + i, service -> service.getCity().getBudget()).get();
+            int families = host.submit("city-" + i, service -> service.getCity().getFamilies()).get();
+            assertEquals(reference.getCity().getBudget(), budget, "budget of city-" + i);
+            assertEquals(reference.getCity().getFamilies(), families, "families of city-" + i);
+        }
+    }
+
+    @Test
+    void testCommandsForOneCityRunInOrder() throws Exception {
+        host = new CityHost(sandboxConfig(), storageDir, 4);
+        host.createCity("solo", "Solo", 5L);
+        List<Integer> seen = new ArrayList<>(); // deliberately not thread-safe
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            results.add(host.submit("solo", service -> seen.add(value)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get();
+
+        assertEquals(200, seen.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void testEvictedCityIsReloadedOnNextCommand() throws Exception {
+        Properties config = sandboxConfig();
+        host = new CityHost(config, storageDir, 2);
+        host.createCity("sleepy", "Sleepy", 77L);
+        for (int day = 0; day < 3; day++) {
+            host.tick("sleepy").get();
+        }
+
+        assertTrue(host.evict("sleepy").get());
+        assertFalse(host.isResident("sleepy"));
+        assertEquals(0, host.getResidentCount());
+        assertEquals(1, snapshotCount("sleepy"));
+
+        for (int day = 0; day < 4; day++) {
+            host.tick("sleepy").get();
+        }
+        assertTrue(host.isResident("sleepy"));
+        CityService reference = referenceGame(config, 77L, 7);
+        assertEquals(reference.getCity().getBudget(),
+                (int) host.submit("sleepy", service -> service.getCity().getBudget()).get());
+        assertEquals("Sleepy", host.submit("sleepy", service -> service.getCity().getName()).get());
+    }
+
+    @Test
+    void testEvictIdleAndUnknownCities() throws Exception {
+        host = new CityHost(sandboxConfig(), storageDir, 2);
+        host.createCity("a", "A", 1L);
+        host.createCity("b", "B", 2L);
+
+        assertEquals(2, host.evictIdle(0));
+        host.submit("a", service -> service.getCity().getDay()).get();
+        host.submit("b", service -> service.getCity().getDay()).get();
+        assertEquals(2, host.getResidentCount(), "Evicted cities come back on the next command");
+
+        assertThrows(IllegalArgumentException.class, () -> host.createCity("a", "Again"));
+        assertThrows(IllegalArgumentException.class, () -> host.createCity("../../escape", "Escape"));
+        assertThrows(IllegalArgumentException.class, () -> host.createCity("a/b", "Nested"));
+        assertThrows(IllegalArgumentException.class, () -> host.createCity("", "Empty"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> host.tick("missing").get());
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+
+        assertTrue(host.removeCity("b"));
+        assertEquals(1, host.getCityCount());
+    }
+
+    @Test
+    void testTicksDoNotKeepCitiesResident() throws Exception {
+        Properties config = sandboxConfig();
+        host = new CityHost(config, storageDir, 2);
+        host.createCity("idle", "Idle", 31L);
+        host.createCity("busy", "Busy", 32L);
+        for (int day = 0; day < 3; day++) {
+            host.tickAll().get();
+        }
+        Thread.sleep(300);
+        host.submit("busy", service -> service.getCity().getDay()).get();
+
+        assertEquals(1, host.evictIdle(200), "Only the city without player commands is idle");
+        host.tickAll().get(); // Also waits for the eviction, which is ahead of it in the mailbox
+        assertFalse(host.isResident("idle"));
+
+        for (int day = 0; day < 4; day++) {
+            host.tickAll().get();
+        }
+        assertFalse(host.isResident("idle"), "tickAll leaves evicted cities on disk");
+        assertEquals(1, host.getResidentCount());
+
+        CityService reference = referenceGame(config, 31L, 8);
+        assertEquals(reference.getCity().getDay(),
+                (int) host.submit("idle", service -> service.getCity().getDay()).get());
+        assertEquals(reference.getCity().getBudget(),
+                (int) host.submit("idle", service -> service.getCity().getBudget()).get());
+        assertEquals(reference.getCity().getFamilies(),
+                (int) host.submit("idle", service -> service.getCity().getFamilies()).get());
+    }
+
+    @Test
+    void testFinishedCitiesAreNotTickedAgain() throws Exception {
+        Properties config = new Properties();
+        config.setProperty("initialBudget", "0");
+        config.setProperty("initialFamilies", "1");
+        host = new CityHost(config, storageDir, 2);
+        host.createCity("broke", "Broke", 3L);
+        host.createCity("sleeper", "Sleeper", 3L);
+        host.evict("sleeper").get();
+
+        int lastDay = endOfGame(config, 3L);
+        for (int day = 0; day < lastDay + 5; day++) {
+            host.tickAll().get();
+        }
+
+        assertTrue(host.isFinished("broke"));
+        assertEquals(lastDay, (int) host.submit("broke", service -> service.getCity().getDay()).get());
+        assertFalse(host.tick("broke").get());
+        assertEquals(lastDay, (int) host.submit("broke", service -> service.getCity().getDay()).get());
+
+        // The evicted city stops at the same day while catching up
+        assertFalse(host.isFinished("sleeper"));
+        assertEquals(lastDay, (int) host.submit("sleeper", service -> service.getCity().getDay()).get());
+        assertTrue(host.isFinished("sleeper"));
+    }
+
+    @Test
+    void testHostedCitiesKeepEventsInMemory() throws Exception {
+        Properties config = sandboxConfig();
+        Path eventFile = storageDir.resolve("events.log");
+        config.setProperty("eventSink", "file");
+        config.setProperty("eventLogFile", eventFile.toString());
+        config.setProperty("eventLogCapacity", "64");
+        config.setProperty("eventHistoryDays", "0");
+        host = new CityHost(config, storageDir, 2);
+        host.createCity("logged", "Logged", 9L);
+        host.tick("logged").get();
+        assertTrue(host.evict("logged").get());
+        host.tick("logged").get();
+
+        EventSink sink = host.submit("logged", service -> service.getCity().getEventSink()).get();
+        assertInstanceOf(EventLog.class, sink, "Reloaded cities use the configured sink");
+        assertEquals(64, ((EventLog) sink).getCapacity());
+        assertFalse(Files.exists(eventFile));
+    }
+
+    @Test
+    void testRecreatedCityKeepsItsSnapshot() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        host = new CityHost(sandboxConfig(), storageDir, executor);
+        host.createCity("town", "Old Town", 1L);
+        assertTrue(host.removeCity("town"));
+        host.createCity("town", "New Town", 2L);
+        CompletableFuture<Boolean> evicted = host.evict("town");
+
+        // The new city is evicted before the old one's removal gets to run
+        executor.run(1);
+        executor.run(0);
+        assertTrue(evicted.get());
+        assertEquals(1, snapshotCount("town"));
+
+        CompletableFuture<String> name = host.submit("town", service -> service.getCity().getName());
+        executor.runAll();
+        assertEquals("New Town", name.get());
+    }
+
+    private static Properties sandboxConfig() {
+        Properties props = new Properties();
+        props.setProperty("sandboxMode", "true");
+        return props;
+    }
+
+    private long snapshotCount(String id) throws IOException {
+        try (Stream<Path> files = Files.list(storageDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(id + "-")).count();
+        }
+    }
+
+    // Runs the host's tasks only when asked, in the order the test chooses
+    private static class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private boolean shutdown;
+
+        void run(int index) {
+            Runnable task = tasks.set(index, null);
+            task.run();
+        }
+
+        void runAll() {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i) != null) {
+                    run(i);
+                }
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    // Day on which the game with this seed ends
+    private static int endOfGame(Properties base, long seed) {
+        Properties props = new Properties();
+        props.putAll(base);
+        props.setProperty("seed", String.valueOf(seed));
+        CityService service = new CityService(new GameConfig(props));
+        for (int day = 0; day < GameConfig.MAX_DAYS; day++) {
+            if (!service.cityTick()) {
+                break;
+            }
+        }
+        return service.getCity().getDay();
+    }
+
+    private static CityService referenceGame(Properties base, long seed, int days) {
+        Properties props = new Properties();
+        props.putAll(base);
+        props.setProperty("seed", String.valueOf(seed));
+        CityService service = new CityService(new GameConfig(props));
+        for (int day = 0; day < days; day++) {
+            service.cityTick();
+        }
+        return service;
+    }
+}
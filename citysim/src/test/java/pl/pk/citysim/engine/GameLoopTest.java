@@ -0,0 +1,129 @@
+package pl.pk.citysim.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.service.CityService;
+
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the real-time and fast-forward modes of the game loop.
+ */
+public class GameLoopTest {
+
+    private GameLoop loop;
+
+    @AfterEach
+    void tearDown() {
+        if (loop != null) {
+            loop.stopRealTime();
+        }
+    }
+
+    @Test
+    void testClockAdvancesDaysOnItsOwn() throws Exception {
+        CityService service = realTimeService();
+        loop = new GameLoop(service, null);
+        assertTrue(loop.isRealTime());
+
+        loop.startRealTime();
+        waitFor(() -> service.getCity().getDay() >= 6);
+        loop.stopRealTime();
+
+        int day = service.getCity().getDay();
+        Thread.sleep(50);
+        assertEquals(day, service.getCity().getDay(), "No ticks after the clock is stopped");
+        assertEquals(day - 1, loop.getTicksRun());
+        assertFalse(loop.isRealTimeRunning());
+    }
+
+    @Test
+    void testPauseStopsTheClock() throws Exception {
+        CityService service = realTimeService();
+        loop = new GameLoop(service, null);
+        loop.startRealTime();
+        waitFor(() -> service.getCity().getDay() >= 3);
+
+        loop.pause();
+        Thread.sleep(30); // let a tick that was already running finish
+        int pausedDay = service.getCity().getDay();
+        Thread.sleep(50);
+        assertEquals(pausedDay, service.getCity().getDay());
+
+        loop.resume();
+        waitFor(() -> service.getCity().getDay() > pausedDay);
+    }
+
+    @Test
+    void testExclusiveCommandsBlockTicks() throws Exception {
+        CityService service = realTimeService();
+        loop = new GameLoop(service, null);
+        loop.startRealTime();
+        waitFor(() -> service.getCity().getDay() >= 2);
+
+        loop.runExclusive(() -> {
+            int day = service.getCity().getDay();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertEquals(day, service.getCity().getDay());
+        });
+        waitFor(() -> loop.getTicksRun() >= 5);
+    }
+
+    @Test
+    void testFastForwardRunsRequestedDays() {
+        Properties props = new Properties();
+        props.setProperty("sandboxMode", "true");
+        props.setProperty("seed", "3");
+        CityService service = new CityService(new GameConfig(props));
+        loop = new GameLoop(service, null);
+
+        GameLoop.FastForwardResult result = loop.fastForward(10);
+
+        assertEquals(10, result.getDaysRun());
+        assertEquals(1, result.getStartDay());
+        assertEquals(11, result.getEndDay());
+        assertEquals(service.getCity().getBudget(), result.getEndBudget());
+        assertEquals(service.getCity().getFamilies(), result.getEndFamilies());
+        assertFalse(result.isGameOver());
+        assertTrue(result.getTotalIncome() > 0);
+    }
+
+    @Test
+    void testFastForwardStopsAtGameOver() {
+        Properties props = new Properties();
+        props.setProperty("seed", "3");
+        CityService service = new CityService(new GameConfig(props));
+        loop = new GameLoop(service, null);
+
+        GameLoop.FastForwardResult result = loop.fastForward(GameConfig.MAX_DAYS * 2);
+
+        assertTrue(result.isGameOver());
+        assertTrue(result.getDaysRun() < GameConfig.MAX_DAYS);
+        assertEquals(service.getCity().getDay(), result.getEndDay());
+    }
+
+    private static CityService realTimeService() {
+        Properties props = new Properties();
+        props.setProperty("realTime", "true");
+        props.setProperty("tickIntervalMs", "5");
+        props.setProperty("sandboxMode", "true");
+        props.setProperty("seed", "11");
+        return new CityService(new GameConfig(props));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the clock");
+            Thread.sleep(2);
+        }
+    }
+}
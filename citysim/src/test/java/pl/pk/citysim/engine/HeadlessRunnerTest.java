@@ -0,0 +1,46 @@
+package pl.pk.citysim.engine;
+
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.model.GameConfig;
+
+import java.io.StringWriter;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the headless batch runner.
+ */
+public class HeadlessRunnerTest {
+
+    @Test
+    void testCsvHasOneRowPerSimulatedDay() throws Exception {
+        HeadlessRunner runner = new HeadlessRunner(new Properties(), HeadlessRunner.Format.CSV);
+        StringWriter out = new StringWriter();
+
+        long days = runner.run(7L, 3, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("seed,day,families,budget,satisfaction,dailyIncome,dailyExpenses,taxRate,vatRate", lines[0]);
+        assertEquals(days + 1, lines.length);
+        assertTrue(days >= 3 && days <= 3L * (GameConfig.MAX_DAYS - 1));
+        assertTrue(lines[1].startsWith("7,2,"), "First row should be day 2 of the first seed");
+        assertTrue(lines[lines.length - 1].startsWith("9,"), "Last row should belong to the last seed");
+    }
+
+    @Test
+    void testSameSeedGivesSameMetrics() throws Exception {
+        Properties config = new Properties();
+        config.setProperty("sandboxMode", "true");
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+
+        long days = new HeadlessRunner(config, HeadlessRunner.Format.JSON).run(42L, 2, first);
+        new HeadlessRunner(config, HeadlessRunner.Format.JSON).run(42L, 2, second);
+
+        assertEquals(first.toString(), second.toString());
+        // Sandbox games never end early, so each run lasts until the day limit
+        assertEquals(2L * (GameConfig.MAX_DAYS - 1), days);
+        assertTrue(first.toString().startsWith("{\"seed\":42,\"day\":2,"));
+    }
+}
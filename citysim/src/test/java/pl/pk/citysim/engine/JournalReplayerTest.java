@@ -0,0 +1,106 @@
+package pl.pk.citysim.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.City;
+import pl.pk.citysim.model.GameConfig;
+import pl.pk.citysim.service.CityService;
+import pl.pk.citysim.service.CommandJournal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for recording commands to a journal and replaying them.
+ */
+public class JournalReplayerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReplayReproducesSession() throws IOException {
+        Path file = tempDir.resolve("session.journal");
+        CityService session = recordSession(file);
+
+        JournalReplayer.Result result = JournalReplayer.replay(file);
+        City replayed = result.getCityService().getCity();
+        City original = session.getCity();
+
+        assertEquals(original.getName(), replayed.getName());
+        assertEquals(original.getDay(), replayed.getDay());
+        assertEquals(original.getBudget(), replayed.getBudget());
+        assertEquals(original.getFamilies(), replayed.getFamilies());
+        assertEquals(original.getSatisfaction(), replayed.getSatisfaction());
+        assertEquals(original.getTaxRate(), replayed.getTaxRate());
+        assertEquals(original.getVatRate(), replayed.getVatRate());
+        assertEquals(original.getBuildingCounts(), replayed.getBuildingCounts());
+        assertEquals(original.getRecentEvents(), replayed.getRecentEvents());
+        assertEquals(12, result.getTicks());
+        assertEquals(17, result.getCommands());
+    }
+
+    @Test
+    void testTruncatedRecordEndsReplay() throws IOException {
+        Path file = tempDir.resolve("crashed.journal");
+        recordSession(file);
+        byte[] bytes = Files.readAllBytes(file);
+        // Cut the last VAT record (opcode + 8-byte double) in half
+        Path truncated = tempDir.resolve("truncated.journal");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 6 - 5));
+
+        JournalReplayer.Result result = JournalReplayer.replay(truncated);
+        assertEquals(7, result.getTicks());
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("not-a-journal");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> JournalReplayer.replay(file));
+    }
+
+    @Test
+    void testUnknownBuildingTypeFails() throws IOException {
+        Path file = tempDir.resolve("renamed.journal");
+        recordSession(file);
+        // Buildings are stored by name, so a type that no longer exists is reported rather than misread
+        String bytes = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        assertTrue(bytes.contains("Commercial"));
+        Files.write(file, bytes.replace("Commercial", "Commerxial").getBytes(StandardCharsets.ISO_8859_1));
+
+        IOException e = assertThrows(IOException.class, () -> JournalReplayer.replay(file));
+        assertTrue(e.getMessage().contains("Commerxial"));
+    }
+
+    // 1 name, 2 builds, 1 tax, 7 ticks, 1 vat, 5 ticks
+    private static CityService recordSession(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("seed", "2024");
+        props.setProperty("initialFamilies", "30");
+        props.setProperty("initialBudget", "4000");
+        CityService session = new CityService(new GameConfig(props));
+        try (CommandJournal journal = CommandJournal.create(file, session.getConfig())) {
+            session.setJournal(journal);
+            session.setCityName("Journalton");
+            session.buildBuildings(BuildingType.COMMERCIAL, 2);
+            session.buildBuildings(BuildingType.PARK, 1);
+            session.setTaxRate(0.14);
+            for (int i = 0; i < 7; i++) {
+                session.cityTick();
+            }
+            session.setVatRate(0.08);
+            for (int i = 0; i < 5; i++) {
+                session.cityTick();
+            }
+        }
+        return session;
+    }
+}
@@ -0,0 +1,79 @@
+package pl.pk.citysim.engine;
+
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.GameConfig;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for strategy plans and the Monte Carlo strategy evaluator.
+ */
+public class StrategyEvaluatorTest {
+
+    @Test
+    void testParsePlanUsesConsoleSyntax() {
+        StrategyPlan plan = StrategyPlan.parse(List.of(
+                "# opening",
+                "1 build residential 2",
+                "1 tax set income 12",
+                "",
+                "5 tax set vat 7",
+                "10 build park"));
+
+        assertEquals(4, plan.getActionCount());
+        assertEquals(2, plan.getActions(1).size());
+        StrategyPlan.Action build = plan.getActions(1).get(0);
+        assertEquals(StrategyPlan.ActionType.BUILD, build.getType());
+        assertEquals(BuildingType.RESIDENTIAL, build.getBuildingType());
+        assertEquals(2, build.getCount());
+        assertEquals(0.12, plan.getActions(1).get(1).getRate(), 1e-9);
+        assertEquals(StrategyPlan.ActionType.SET_VAT_RATE, plan.getActions(5).get(0).getType());
+        assertEquals(1, plan.getActions(10).get(0).getCount());
+        assertTrue(plan.getActions(2).isEmpty());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> StrategyPlan.parse(List.of("1 build castle")));
+        assertTrue(error.getMessage().startsWith("Line 1:"));
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreadCount() {
+        StrategyPlan plan = new StrategyPlan()
+                .build(1, BuildingType.COMMERCIAL, 1)
+                .setTaxRate(3, 0.15);
+        Properties config = new Properties();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            StrategyEvaluator.Report first = new StrategyEvaluator(config, plan, single).evaluate(100L, 40);
+            StrategyEvaluator.Report second = new StrategyEvaluator(config, plan, several).evaluate(100L, 40);
+
+            assertEquals(first.getScore().getMean(), second.getScore().getMean());
+            assertEquals(first.getFamilies().getMedian(), second.getFamilies().getMedian());
+            assertEquals(first.getBudget().getPercentile(90), second.getBudget().getPercentile(90));
+            assertEquals(first.getBankruptRuns(), second.getBankruptRuns());
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void testReportSummarizesRuns() {
+        StrategyEvaluator.Report report = new StrategyEvaluator(new Properties(), new StrategyPlan()).evaluate(1L, 20);
+
+        assertEquals(20, report.getRuns());
+        StrategyEvaluator.Distribution days = report.getDays();
+        assertTrue(days.getMin() <= days.getMedian() && days.getMedian() <= days.getMax());
+        assertTrue(days.getMax() <= GameConfig.MAX_DAYS);
+        assertTrue(report.getBankruptcyRate() >= 0 && report.getBankruptcyRate() + report.getAbandonmentRate() <= 1.0);
+        assertEquals(days.getMin(), days.getPercentile(0));
+        assertEquals(days.getMax(), days.getPercentile(100));
+    }
+}
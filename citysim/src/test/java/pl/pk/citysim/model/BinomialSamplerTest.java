@@ -0,0 +1,73 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the constant-time binomial sampler used for arrivals and departures.
+ */
+public class BinomialSamplerTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testEdgeCases() {
+        RandomSource.Stream random = new RandomSource(1L).stream(RandomSource.Phase.POPULATION);
+        assertEquals(0, BinomialSampler.sample(random, 0, 0.5));
+        assertEquals(0, BinomialSampler.sample(random, 100, 0.0));
+        assertEquals(100, BinomialSampler.sample(random, 100, 1.0));
+        for (int i = 0; i < 1000; i++) {
+            int value = BinomialSampler.sample(random, 5, 0.3);
+            assertTrue(value >= 0 && value <= 5, "Sample must stay within [0, n]");
+        }
+    }
+
+    @Test
+    void testMomentsMatchBinomial() {
+        assertMoments(5, 0.3);          // inversion
+        assertMoments(50, 0.45);        // inversion near the switch point
+        assertMoments(1000, 0.2);       // BTPE
+        assertMoments(100, 0.9);        // symmetric branch
+        assertMoments(10_000_000, 0.1); // BTPE, million-family city
+    }
+
+    @Test
+    void testMatchesPerFamilyLoopDistribution() {
+        // Compare the probability mass of a small case with the exact binomial pmf
+        int n = 10;
+        double p = 0.25;
+        int[] counts = new int[n + 1];
+        RandomSource.Stream random = new RandomSource(3L).stream(RandomSource.Phase.POPULATION);
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[BinomialSampler.sample(random, n, p)]++;
+        }
+        double pmf = Math.pow(1 - p, n);
+        for (int k = 0; k <= n; k++) {
+            double expected = pmf * SAMPLES;
+            double tolerance = 5 * Math.sqrt(expected) + 1;
+            assertEquals(expected, counts[k], tolerance, "Unexpected frequency for k=" + k);
+            pmf = pmf * (n - k) / (k + 1) * p / (1 - p);
+        }
+    }
+
+    private void assertMoments(int n, double p) {
+        RandomSource.Stream random = new RandomSource(n).stream(RandomSource.Phase.POPULATION);
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int value = BinomialSampler.sample(random, n, p);
+            assertTrue(value >= 0 && value <= n);
+            sum += value;
+            sumSquares += (double) value * value;
+        }
+        double mean = sum / SAMPLES;
+        double variance = sumSquares / SAMPLES - mean * mean;
+        double expectedMean = n * p;
+        double expectedVariance = n * p * (1 - p);
+        assertEquals(expectedMean, mean, 5 * Math.sqrt(expectedVariance / SAMPLES),
+                "Mean of Binomial(" + n + ", " + p + ")");
+        assertEquals(expectedVariance, variance, expectedVariance * 0.05,
+                "Variance of Binomial(" + n + ", " + p + ")");
+    }
+}
@@ -0,0 +1,84 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the building type registry.
+ */
+public class BuildingTypeTest {
+
+    @Test
+    void testFactoryCreatesMatchingBuildings() {
+        for (BuildingType type : BuildingType.values()) {
+            Building building = type.create(7);
+
+            assertSame(type.getBuildingClass(), building.getClass());
+            assertSame(type, building.getType());
+            assertEquals(7, building.getId());
+            assertEquals(type.getTypeName(), building.getTypeName());
+            assertEquals(type.getDescription(), building.getDescription());
+            assertEquals(type.getCapacity(), building.getCapacity());
+            assertEquals(type.getUpkeep(), building.getUpkeep());
+            assertEquals(type.getSatisfactionImpact(), building.getSatisfactionImpact());
+            assertEquals(type.getEducationCapacity(), building.getEducationCapacity());
+            assertEquals(type.getHealthcareCapacity(), building.getHealthcareCapacity());
+            assertEquals(type.getUtilityCapacity(), building.getUtilityCapacity());
+            assertEquals(building.getUpkeep() * 10, type.getBaseCost());
+        }
+    }
+
+    @Test
+    void testLookups() {
+        assertSame(BuildingType.WATER_PLANT, BuildingType.of(WaterPlantBuilding.class));
+        assertSame(BuildingType.POWER_PLANT, BuildingType.fromKey("power_plant"));
+        assertNull(BuildingType.fromKey("CASTLE"));
+    }
+
+    @Test
+    void testCityBuildsFromType() {
+        City city = new City(10, 1000);
+        Building building = city.addBuilding(BuildingType.PARK);
+
+        assertInstanceOf(ParkBuilding.class, building);
+        assertEquals(1000 - BuildingType.PARK.getBaseCost(), city.getBudget());
+        assertEquals(1, city.getBuildingCounts().get("Park"));
+    }
+
+    @Test
+    void testBuildingCountsViewIsLiveAndReadOnly() {
+        City city = new City(10, 100000);
+        Map<String, Integer> counts = city.getBuildingCounts();
+        assertEquals(0, counts.get("Commercial"));
+
+        city.addBuilding(BuildingType.COMMERCIAL);
+        city.addBuilding(BuildingType.COMMERCIAL);
+
+        assertEquals(2, counts.get("Commercial"));
+        assertEquals(2, city.getBuildingCount(BuildingType.COMMERCIAL));
+        assertEquals(1, counts.get("Water Plant"));
+        assertEquals(BuildingType.COUNT, counts.size());
+        assertEquals("Residential", counts.keySet().iterator().next());
+        assertNull(counts.get("Castle"));
+        assertThrows(UnsupportedOperationException.class, () -> counts.put("Park", 5));
+    }
+
+    @Test
+    void testBuildingsViewIsLiveAndReadOnly() {
+        City city = new City(10, 100000);
+        List<Building> view = city.getBuildingsView();
+        int initial = view.size();
+
+        city.addBuilding(BuildingType.PARK);
+
+        assertSame(view, city.getBuildingsView());
+        assertEquals(initial + 1, view.size());
+        assertEquals(view.size(), city.getTotalBuildingCount());
+        assertEquals(BuildingType.PARK, view.get(initial).getType());
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+    }
+}
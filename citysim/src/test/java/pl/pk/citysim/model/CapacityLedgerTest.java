@@ -0,0 +1,57 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the running capacity totals kept by the City.
+ */
+public class CapacityLedgerTest {
+
+    @Test
+    void testInitialInfrastructureIsRecorded() {
+        City city = new City(10, 1000);
+        CapacityLedger ledger = city.getCapacityLedger();
+
+        assertEquals(25, ledger.getHousingCapacity());
+        assertEquals(50, ledger.getEducationCapacity());
+        assertEquals(60, ledger.getHealthcareCapacity());
+        assertEquals(75, ledger.getWaterCapacity());
+        assertEquals(100, ledger.getPowerCapacity());
+        assertEquals(0, ledger.getTotalJobs());
+        assertEquals(city.getBuildings().size(), ledger.getBuildingCount());
+    }
+
+    @Test
+    void testLedgerMatchesBuildingScan() {
+        City city = new City(10, 100000);
+        city.addBuilding(CommercialBuilding.class);
+        city.addBuilding(CommercialBuilding.class);
+        city.addBuilding(IndustrialBuilding.class);
+        city.addBuilding(ParkBuilding.class);
+        city.addBuilding(ResidentialBuilding.class);
+
+        int housing = 0;
+        int jobs = 0;
+        int satisfactionImpact = 0;
+        for (Building building : city.getBuildings()) {
+            if (building instanceof ResidentialBuilding) {
+                housing += building.getCapacity();
+            } else if (building instanceof CommercialBuilding || building instanceof IndustrialBuilding) {
+                jobs += building.getCapacity();
+            }
+            satisfactionImpact += building.getSatisfactionImpact();
+        }
+
+        CapacityLedger ledger = city.getCapacityLedger();
+        assertEquals(housing, ledger.getHousingCapacity());
+        assertEquals(jobs, ledger.getTotalJobs());
+        assertEquals(30, ledger.getCommercialJobs());
+        assertEquals(10, ledger.getIndustrialJobs());
+        assertEquals(satisfactionImpact, ledger.getTotalSatisfactionImpact());
+        assertEquals(2, ledger.getTypeTotals("Commercial").getCount());
+        assertEquals(10, ledger.getTypeTotals("Commercial").getUnitUpkeep());
+        assertEquals(50, ledger.getTypeTotals("School").getUnitServiceCapacity());
+    }
+}
@@ -0,0 +1,71 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.service.CityService;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests that simulating a day does not allocate once the city has settled.
+ */
+public class CityAllocationTest {
+    private static final int WARMUP_DAYS = 3000;
+    private static final int MEASURED_DAYS = 2000;
+
+    @Test
+    void testNextDayDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        City city = new City("Soak", 200, 100_000_000, 5L);
+        for (BuildingType type : BuildingType.values()) {
+            for (int i = 0; i < 30; i++) {
+                city.addBuilding(type, 0);
+            }
+        }
+        for (int i = 0; i < WARMUP_DAYS; i++) {
+            city.nextDay();
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_DAYS; i++) {
+            city.nextDay();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // One formatted string or boxed value per day would already be well over a byte per day
+        assertTrue(allocated < MEASURED_DAYS, "Allocated " + allocated + " bytes in " + MEASURED_DAYS + " days");
+        assertTrue(city.getEvents().retainedSize() > 0, "Events are still recorded, only their text is deferred");
+    }
+
+    @Test
+    void testSandboxCityTickDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        Properties props = new Properties();
+        props.setProperty("sandboxMode", "true");
+        props.setProperty("seed", "9");
+        CityService service = new CityService(new GameConfig(props));
+        for (int i = 0; i < WARMUP_DAYS; i++) {
+            service.cityTick();
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_DAYS; i++) {
+            service.cityTick();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated < MEASURED_DAYS, "Allocated " + allocated + " bytes in " + MEASURED_DAYS + " ticks");
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        return threads;
+    }
+}
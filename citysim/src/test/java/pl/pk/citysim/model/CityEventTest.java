@@ -4,10 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
 import pl.pk.citysim.model.ResidentialBuilding;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +27,7 @@ public class CityEventTest {
     @Test
     void testFireEvent() throws Exception {
         // Get the private method using reflection
-        Method fireMethod = City.class.getDeclaredMethod("handleFireEvent", Random.class);
+        Method fireMethod = City.class.getDeclaredMethod("handleFireEvent", RandomGenerator.class);
         fireMethod.setAccessible(true);
 
         // Add a building to the city
@@ -55,7 +54,7 @@ public class CityEventTest {
     @Test
     void testEpidemicEvent() throws Exception {
         // Get the private method using reflection
-        Method epidemicMethod = City.class.getDeclaredMethod("handleEpidemicEvent", Random.class);
+        Method epidemicMethod = City.class.getDeclaredMethod("handleEpidemicEvent", RandomGenerator.class);
         epidemicMethod.setAccessible(true);
 
         // Get initial budget and satisfaction
@@ -79,7 +78,7 @@ public class CityEventTest {
     @Test
     void testEconomicCrisisEvent() throws Exception {
         // Get the private method using reflection
-        Method crisisMethod = City.class.getDeclaredMethod("handleEconomicCrisisEvent", Random.class);
+        Method crisisMethod = City.class.getDeclaredMethod("handleEconomicCrisisEvent", RandomGenerator.class);
         crisisMethod.setAccessible(true);
 
         // Get initial budget and satisfaction
@@ -103,7 +102,7 @@ public class CityEventTest {
     @Test
     void testGrantEvent() throws Exception {
         // Get the private method using reflection
-        Method grantMethod = City.class.getDeclaredMethod("handleGrantEvent", Random.class);
+        Method grantMethod = City.class.getDeclaredMethod("handleGrantEvent", RandomGenerator.class);
         grantMethod.setAccessible(true);
 
         // Get initial budget and satisfaction
@@ -139,11 +138,10 @@ public class CityEventTest {
         // Also clear the building counts
         java.lang.reflect.Field buildingCountsField = City.class.getDeclaredField("buildingCounts");
         buildingCountsField.setAccessible(true);
-        Map<String, Integer> buildingCounts = new HashMap<>();
-        buildingCountsField.set(specialCity, buildingCounts);
+        buildingCountsField.set(specialCity, new int[BuildingType.COUNT]);
 
         // Get the private method using reflection
-        Method fireMethod = City.class.getDeclaredMethod("handleFireEvent", Random.class);
+        Method fireMethod = City.class.getDeclaredMethod("handleFireEvent", RandomGenerator.class);
         fireMethod.setAccessible(true);
 
         // Get initial budget and satisfaction
@@ -173,7 +171,7 @@ public class CityEventTest {
         City emptyCity = new City(0, 1000);
 
         // Get the private method using reflection
-        Method epidemicMethod = City.class.getDeclaredMethod("handleEpidemicEvent", Random.class);
+        Method epidemicMethod = City.class.getDeclaredMethod("handleEpidemicEvent", RandomGenerator.class);
         epidemicMethod.setAccessible(true);
 
         // Get initial budget and satisfaction
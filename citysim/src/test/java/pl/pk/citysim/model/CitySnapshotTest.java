@@ -0,0 +1,105 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for saving and loading binary city snapshots.
+ */
+public class CitySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripRestoresState() throws IOException {
+        City city = new City("Snapshotville", 40, 3000, 7L);
+        city.addBuilding(BuildingType.PARK);
+        city.setTaxRate(0.12);
+        for (int i = 0; i < 5; i++) {
+            city.nextDay();
+        }
+
+        Path file = tempDir.resolve("city.snap");
+        CitySnapshot.save(city, file);
+        City loaded = CitySnapshot.load(file);
+
+        assertEquals(city.getName(), loaded.getName());
+        assertEquals(city.getDay(), loaded.getDay());
+        assertEquals(city.getBudget(), loaded.getBudget());
+        assertEquals(city.getSatisfaction(), loaded.getSatisfaction());
+        assertEquals(city.getTaxRate(), loaded.getTaxRate());
+        assertEquals(city.getVatRate(), loaded.getVatRate());
+        assertEquals(city.getDailyIncome(), loaded.getDailyIncome());
+        assertEquals(city.getDailyExpenses(), loaded.getDailyExpenses());
+        assertEquals(city.getSeed(), loaded.getSeed());
+        assertEquals(city.getBuildingCounts(), loaded.getBuildingCounts());
+        assertEquals(city.getBuildings().size(), loaded.getBuildings().size());
+        for (int i = 0; i < city.getBuildings().size(); i++) {
+            assertEquals(city.getBuildings().get(i).getType(), loaded.getBuildings().get(i).getType());
+            assertEquals(city.getBuildings().get(i).getOccupancy(), loaded.getBuildings().get(i).getOccupancy());
+        }
+        assertStoresEqual(city.getFamilyManager().getStore(), loaded.getFamilyManager().getStore());
+    }
+
+    @Test
+    void testLoadedCityContinuesDeterministically() throws IOException {
+        City city = new City("Replay", 60, 5000, 99L);
+        for (int i = 0; i < 3; i++) {
+            city.nextDay();
+        }
+        Path file = tempDir.resolve("replay.snap");
+        CitySnapshot.save(city, file);
+        City loaded = CitySnapshot.load(file);
+
+        for (int i = 0; i < 10; i++) {
+            city.nextDay();
+            loaded.nextDay();
+            assertEquals(city.getBudget(), loaded.getBudget());
+            assertEquals(city.getFamilies(), loaded.getFamilies());
+            assertEquals(city.getSatisfaction(), loaded.getSatisfaction());
+            assertEquals(city.getRecentEvents(), loaded.getRecentEvents());
+        }
+    }
+
+    @Test
+    void testLargeFamilyColumnsSpanSeveralChunks() throws IOException {
+        City city = new City("Metropolis", 10, 1000, 3L);
+        FamilyManager familyManager = city.getFamilyManager();
+        familyManager.addFamilies(FamilyStore.CHUNK_SIZE * 2 + 123);
+
+        Path file = tempDir.resolve("large.snap");
+        CitySnapshot.save(city, file);
+        City loaded = CitySnapshot.load(file);
+
+        assertStoresEqual(familyManager.getStore(), loaded.getFamilyManager().getStore());
+    }
+
+    @Test
+    void testRejectsUnknownVersion() throws IOException {
+        Path file = tempDir.resolve("future.snap");
+        CitySnapshot.save(new City("Future", 10, 1000, 1L), file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4, CitySnapshot.VERSION + 1);
+        Files.write(file, bytes);
+
+        IOException error = assertThrows(IOException.class, () -> CitySnapshot.load(file));
+        assertTrue(error.getMessage().contains("Unsupported snapshot version"));
+    }
+
+    private static void assertStoresEqual(FamilyStore expected, FamilyStore actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getIncome(i), actual.getIncome(i), "income of family " + i);
+            assertEquals(expected.isEmployed(i), actual.isEmployed(i), "employment of family " + i);
+        }
+    }
+}
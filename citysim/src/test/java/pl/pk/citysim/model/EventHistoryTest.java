@@ -0,0 +1,115 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.service.CityService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the day- and category-indexed event history.
+ */
+public class EventHistoryTest {
+
+    @Test
+    void testDaysMatchRingBufferText() {
+        EventLog everything = new EventLog(1 << 16);
+        EventHistory history = new EventHistory(200, everything);
+        City city = new City("History", 40, 3000, 11L, history);
+        for (int i = 0; i < 60; i++) {
+            city.nextDay();
+        }
+
+        for (int day = 1; day <= city.getDay(); day++) {
+            assertEquals(everything.renderDay(day), history.renderDay(day), "day " + day);
+            assertEquals(everything.renderDay(day).size(), history.size(day));
+        }
+        assertEquals(everything.renderDay(city.getDay()), city.getEventsByDay(city.getDay()));
+        assertEquals(everything.renderCurrent(), city.getRecentEvents());
+    }
+
+    @Test
+    void testCategoryQueriesSpanWholeGame() {
+        EventHistory history = new EventHistory(10, NoOpEventSink.INSTANCE);
+        history.add(EventKind.FIRE, 1, "Park", 120);
+        history.add(EventKind.FAMILIES_ARRIVED, 1, 4);
+        history.add(EventKind.NEW_DAY, 2);
+        history.add(EventKind.GRANT, 3, "LARGE ", 500, 21.5);
+
+        assertEquals(2, history.count(EventCategory.INCIDENT));
+        assertEquals(List.of("Day 1: FIRE! A Park caught fire, causing $120 in damages.",
+                        "Day 3: LARGE GRANT! The city received a $500 grant (21.5% of budget) from the government."),
+                history.render(EventCategory.INCIDENT));
+        assertEquals(EventKind.FAMILIES_ARRIVED, history.getKind(1, 1));
+        assertEquals(1, history.count(EventSeverity.POSITIVE));
+        assertEquals(1, history.count(EventSeverity.CRITICAL));
+        assertEquals(1, history.count(1, EventSeverity.CRITICAL));
+        assertEquals(0, history.count(2, EventCategory.INCIDENT));
+        assertTrue(history.render(EventCategory.POLICY).isEmpty());
+    }
+
+    @Test
+    void testRetentionWindowDropsOldDays() {
+        EventHistory history = new EventHistory(3, NoOpEventSink.INSTANCE);
+        for (int day = 1; day <= 5; day++) {
+            history.add(EventKind.NEW_DAY, day);
+            history.add(EventKind.FAMILIES_LEFT, day, day);
+        }
+
+        assertEquals(3, history.getFirstDay());
+        assertEquals(5, history.getLastDay());
+        assertEquals(0, history.size(2));
+        assertTrue(history.renderDay(1).isEmpty());
+        assertEquals(List.of("Day 5: === NEW DAY ===", "Day 5: 5 families left the city."), history.renderDay(5));
+        assertEquals(3, history.count(EventCategory.POPULATION));
+        assertEquals(6, history.count(EventSeverity.INFO));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.render(2, 0));
+
+        // Slots are reused once the window wraps, so the footprint stops growing
+        long footprint = history.getFootprintBytes();
+        for (int day = 6; day <= 50; day++) {
+            history.add(EventKind.NEW_DAY, day);
+        }
+        assertEquals(footprint, history.getFootprintBytes());
+    }
+
+    @Test
+    void testWindowTotalsDropDaysSkippedOver() {
+        EventHistory history = new EventHistory(5, NoOpEventSink.INSTANCE);
+        history.add(EventKind.FIRE, 1, "Park", 120);
+        history.add(EventKind.FAMILIES_LEFT, 2, 3);
+        history.add(EventKind.FAMILIES_LEFT, 3, 1);
+        // Days 4 to 7 have no events; day 8 moves the window to days 4-8, whose slots are still unused
+        history.add(EventKind.NEW_DAY, 8);
+
+        assertEquals(4, history.getFirstDay());
+        assertEquals(0, history.count(EventCategory.INCIDENT));
+        assertEquals(0, history.count(EventCategory.POPULATION));
+        assertEquals(0, history.count(EventSeverity.CRITICAL));
+        assertEquals(1, history.count(EventSeverity.INFO));
+        assertTrue(history.render(EventCategory.INCIDENT).isEmpty());
+
+        history.add(EventKind.FAMILIES_LEFT, 9, 2);
+        assertEquals(1, history.count(EventCategory.POPULATION));
+    }
+
+    @Test
+    void testGameSummaryListsEventsFromEarlierDays() {
+        Properties props = new Properties();
+        props.setProperty("seed", "4");
+        CityService service = new CityService(new GameConfig(props));
+        EventHistory history = service.getCity().getEventHistory();
+        assertNotNull(history);
+        history.add(EventKind.FIRE, 1, "School", 250);
+        service.cityTick();
+        service.cityTick();
+
+        String summary = service.getGameSummary();
+        assertTrue(summary.toUpperCase().contains("A SCHOOL CAUGHT FIRE"), summary);
+        List<String> incidents = new ArrayList<>(history.render(EventCategory.INCIDENT));
+        assertEquals("Day 1: FIRE! A School caught fire, causing $250 in damages.", incidents.get(0));
+    }
+}
@@ -0,0 +1,88 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the typed, lazily rendered event log.
+ */
+public class EventLogTest {
+
+    @Test
+    void testRendersSameTextAsFormat() {
+        EventLog log = new EventLog(16);
+        log.add(EventKind.FIRE, 3, "Park", 120);
+        log.add(EventKind.GRANT, 3, "LARGE ", 500, 21.5);
+        log.add(EventKind.SATISFACTION_TREND, 3, "high satisfaction is attracting new residents", 80);
+        log.add(EventKind.EXCELLENT_SATISFACTION, 3);
+
+        List<String> events = log.renderCurrent();
+        assertEquals(String.format("Day %d: FIRE! A %s caught fire, causing $%d in damages.", 3, "Park", 120), events.get(0));
+        assertEquals(String.format("Day %d: %sGRANT! The city received a $%d grant (%.1f%% of budget) from the government.",
+                3, "LARGE ", 500, 21.5), events.get(1));
+        assertEquals(String.format("Day %d: Current satisfaction level (%d%%) - %s.",
+                3, 80, "high satisfaction is attracting new residents"), events.get(2));
+        assertEquals(String.format("Day %d: EXCELLENT - Very high satisfaction (>90%%) attracting many new families!", 3),
+                events.get(3));
+    }
+
+    @Test
+    void testExpenseBreakdown() {
+        EventLog log = new EventLog(4);
+        double[] payload = new double[4 + BuildingType.COUNT];
+        payload[0] = 30;
+        payload[1] = 45;
+        payload[2] = 0;
+        payload[3] = 75;
+        payload[4] = 30; // Residential
+        log.add(EventKind.EXPENSES, 2, payload, payload.length);
+
+        String expected = "Day 2: Expenses breakdown:\n"
+                + "- Building upkeep: $30\n"
+                + "  - Residential: $30\n"
+                + "- City services: $45\n"
+                + "Total daily expenses: $75";
+        assertEquals(expected, log.renderCurrent().get(0));
+    }
+
+    @Test
+    void testStartNewDayHidesPreviousEvents() {
+        EventLog log = new EventLog(16);
+        log.add(EventKind.NEW_DAY, 1);
+        log.add(EventKind.FAMILIES_ARRIVED, 1, 4);
+        log.startNewDay();
+        log.add(EventKind.NEW_DAY, 2);
+
+        assertEquals(List.of("Day 2: === NEW DAY ==="), log.renderCurrent());
+        assertEquals(3, log.retainedSize());
+        assertEquals(List.of("Day 1: === NEW DAY ===", "Day 1: 4 new families moved to the city."), log.renderDay(1));
+    }
+
+    @Test
+    void testRingBufferKeepsNewestEvents() {
+        EventLog log = new EventLog(3);
+        for (int i = 1; i <= 5; i++) {
+            log.add(EventKind.FAMILIES_LEFT, 1, i);
+        }
+
+        assertEquals(3, log.retainedSize());
+        assertEquals(3, log.currentSize());
+        assertEquals(3.0, log.getValue(0, 0));
+        assertEquals("Day 1: 5 families left the city.", log.render(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.getKind(3));
+    }
+
+    @Test
+    void testCityLogIsRenderedOnDemand() {
+        City city = new City("Test", 10, 1000, 42L);
+        city.nextDay();
+
+        List<String> events = city.getEventLog();
+        assertEquals("Day 2: === NEW DAY ===", events.get(0));
+        assertEquals(city.getEvents().currentSize(), events.size());
+        assertTrue(events.stream().anyMatch(event -> event.startsWith("Day 2: Expenses breakdown:")));
+    }
+}
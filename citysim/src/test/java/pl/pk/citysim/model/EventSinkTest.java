@@ -0,0 +1,96 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.pk.citysim.service.CityService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the event sinks a city can log to.
+ */
+public class EventSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testNoOpSinkDoesNotChangeSimulation() {
+        City logged = new City("Logged", 30, 5000, 77L);
+        City silent = new City("Silent", 30, 5000, 77L, NoOpEventSink.INSTANCE);
+        for (int i = 0; i < 40; i++) {
+            logged.nextDay();
+            silent.nextDay();
+        }
+
+        assertEquals(logged.getBudget(), silent.getBudget());
+        assertEquals(logged.getFamilies(), silent.getFamilies());
+        assertEquals(logged.getSatisfaction(), silent.getSatisfaction());
+        assertFalse(logged.getEventLog().isEmpty());
+        assertTrue(silent.getEventLog().isEmpty());
+        assertEquals(0, silent.getEvents().retainedSize());
+    }
+
+    @Test
+    void testFileSinkWritesEveryEvent() throws IOException {
+        Path file = tempDir.resolve("events.log");
+        EventLog everything = new EventLog(1 << 16);
+        City reference = new City("Town", 30, 5000, 5L, everything);
+        // A tiny buffer makes the simulation wait on the writer many times
+        FileEventSink sink = new FileEventSink(file, 4);
+        City streamed = new City("Town", 30, 5000, 5L, sink);
+        for (int i = 0; i < 60; i++) {
+            reference.nextDay();
+            streamed.nextDay();
+        }
+        sink.flush();
+        sink.close();
+
+        List<String> expected = new ArrayList<>();
+        for (String event : everything.renderRetained()) {
+            expected.addAll(List.of(event.split("\n")));
+        }
+        assertEquals(expected, Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFileSinkAppends() throws IOException {
+        Path file = tempDir.resolve("append.log");
+        try (FileEventSink first = new FileEventSink(file)) {
+            first.add(EventKind.NEW_DAY, 1);
+        }
+        try (FileEventSink second = new FileEventSink(file)) {
+            second.add(EventKind.NEW_DAY, 2);
+        }
+        assertEquals(List.of("Day 1: === NEW DAY ===", "Day 2: === NEW DAY ==="), Files.readAllLines(file));
+    }
+
+    @Test
+    void testSinkSelectedFromConfig() {
+        Properties props = new Properties();
+        props.setProperty("seed", "3");
+        props.setProperty("eventHistoryDays", "0");
+        props.setProperty("eventSink", "none");
+        assertSame(NoOpEventSink.INSTANCE, new CityService(new GameConfig(props)).getCity().getEventSink());
+
+        props.setProperty("eventSink", "ring");
+        props.setProperty("eventLogCapacity", "64");
+        EventSink ring = new CityService(new GameConfig(props)).getCity().getEventSink();
+        assertInstanceOf(EventLog.class, ring);
+        assertEquals(64, ((EventLog) ring).getCapacity());
+
+        props.setProperty("eventSink", "file");
+        props.setProperty("eventLogFile", tempDir.resolve("config.log").toString());
+        EventSink file = new CityService(new GameConfig(props)).getCity().getEventSink();
+        assertInstanceOf(FileEventSink.class, file);
+        file.close();
+    }
+}
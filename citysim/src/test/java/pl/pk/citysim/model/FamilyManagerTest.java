@@ -0,0 +1,44 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the FamilyManager income calculation.
+ */
+public class FamilyManagerTest {
+
+    @Test
+    void testParallelIncomeMatchesSequential() {
+        int families = FamilyStore.CHUNK_SIZE * 3 + 1234;
+        FamilyManager sequential = new FamilyManager(families, 42L);
+        FamilyManager parallel = new FamilyManager(families, 42L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setParallelIncome(true, pool);
+
+            for (int day = 0; day < 3; day++) {
+                double jobRatio = day == 1 ? 1.0 : 0.7;
+                int sequentialIncome = sequential.calculateFamilyIncomes(0.5, jobRatio, 0.8, 0.9);
+                int parallelIncome = parallel.calculateFamilyIncomes(0.5, jobRatio, 0.8, 0.9);
+                assertEquals(sequentialIncome, parallelIncome, "Day " + day + " income should not depend on parallelism");
+                assertEquals(sequential.getStore().getEmployedCount(), parallel.getStore().getEmployedCount());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSameFamilies() {
+        FamilyManager first = new FamilyManager(100, 7L);
+        FamilyManager second = new FamilyManager(100, 7L);
+
+        assertEquals(first.getTotalIncome(), second.getTotalIncome());
+        assertEquals(first.calculateFamilyIncomes(0.3, 0.5, 1.0, 1.0),
+                second.calculateFamilyIncomes(0.3, 0.5, 1.0, 1.0));
+    }
+}
@@ -0,0 +1,93 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the column-based family store.
+ */
+public class FamilyStoreTest {
+
+    @Test
+    void testAddAndReadAcrossChunks() {
+        FamilyStore store = new FamilyStore();
+        int count = FamilyStore.CHUNK_SIZE * 2 + 100;
+        long expectedTotal = 0;
+        int expectedEmployed = 0;
+        for (int i = 0; i < count; i++) {
+            int income = 60 + (i % 61);
+            boolean employed = i % 3 != 0;
+            store.add(income, employed);
+            expectedTotal += income;
+            if (employed) {
+                expectedEmployed++;
+            }
+        }
+
+        assertEquals(count, store.size());
+        assertEquals(expectedTotal, store.getTotalIncome());
+        assertEquals(expectedEmployed, store.getEmployedCount());
+        assertEquals(60 + (FamilyStore.CHUNK_SIZE % 61), store.getIncome(FamilyStore.CHUNK_SIZE));
+        assertFalse(store.isEmployed(FamilyStore.CHUNK_SIZE * 2 - 2));
+        assertTrue(store.isEmployed(FamilyStore.CHUNK_SIZE * 2 - 1));
+    }
+
+    @Test
+    void testRemoveLastAndReuseSlots() {
+        FamilyStore store = new FamilyStore();
+        for (int i = 0; i < 10; i++) {
+            store.add(100, true);
+        }
+
+        assertEquals(4, store.removeLast(4));
+        assertEquals(6, store.size());
+        assertEquals(600, store.getTotalIncome());
+
+        store.add(50, false);
+        assertEquals(7, store.size());
+        assertFalse(store.isEmployed(6), "Reused slot must not keep the old employment bit");
+        assertEquals(7, store.removeLast(100));
+        assertEquals(0, store.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getIncome(0));
+    }
+
+    @Test
+    void testFamilyManagerKeepsListView() {
+        FamilyManager manager = new FamilyManager(25);
+        assertEquals(25, manager.getFamiliesCount());
+        assertEquals(25, manager.getFamilies().size());
+
+        int total = 0;
+        for (Family family : manager.getFamilies()) {
+            assertTrue(family.getIncome() >= 60 && family.getIncome() <= 120);
+            total += family.getIncome();
+        }
+        assertEquals(total, manager.getTotalIncome());
+        assertEquals(5, manager.removeFamilies(5));
+        assertEquals(20, manager.getFamiliesCount());
+    }
+
+    @Test
+    void testCursorWalksAllChunks() {
+        FamilyManager manager = new FamilyManager(FamilyStore.CHUNK_SIZE + 100, 5L);
+        FamilyStore store = manager.getStore();
+
+        FamilyStore.Cursor cursor = manager.familyCursor();
+        long total = 0;
+        int employed = 0;
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(count, cursor.index());
+            assertEquals(store.getIncome(count), cursor.getIncome());
+            assertEquals(store.isEmployed(count), cursor.isEmployed());
+            total += cursor.getIncome();
+            employed += cursor.isEmployed() ? 1 : 0;
+            count++;
+        }
+        assertEquals(store.size(), count);
+        assertEquals(store.getTotalIncome(), total);
+        assertEquals(manager.getEmployedCount(), employed);
+        assertFalse(cursor.next());
+    }
+}
@@ -0,0 +1,77 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory leaderboard and its background writes.
+ */
+public class LeaderboardTest {
+    private static final LocalDateTime ACHIEVED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRankAndTopAreAnsweredFromMemory() {
+        Leaderboard leaderboard = new Leaderboard(tempDir.resolve("highscores.txt"), 60_000);
+        for (int i = 1; i <= 12; i++) {
+            leaderboard.submit(new Highscore("City" + i, i * 100, 10, 1000, 50, 30, ACHIEVED_AT));
+        }
+
+        List<Highscore> highscores = leaderboard.getHighscores();
+        assertEquals(Highscore.MAX_HIGHSCORES, highscores.size());
+        assertEquals(1200, highscores.get(0).getScore());
+        assertEquals(300, highscores.get(highscores.size() - 1).getScore());
+        assertEquals(3, leaderboard.getTop(3).size());
+        assertEquals(1, leaderboard.getRank(5000));
+        assertEquals(2, leaderboard.getRank(1100));
+        assertEquals(-1, leaderboard.getRank(100));
+        // Nothing has been written yet because the write is still pending
+        assertFalse(Files.exists(tempDir.resolve("highscores.txt")));
+        assertTrue(leaderboard.hasPendingWrites());
+        leaderboard.close();
+    }
+
+    @Test
+    void testSubmissionsAreCoalescedAndPersisted() throws Exception {
+        Path file = tempDir.resolve("saves").resolve("highscores.txt");
+        Leaderboard leaderboard = new Leaderboard(file, 50);
+        for (int day = 1; day <= 100; day++) {
+            leaderboard.submit(new Highscore("TestCity", day * 10, 10, 1000, 50, day, ACHIEVED_AT));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (leaderboard.hasPendingWrites() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(leaderboard.hasPendingWrites(), "Pending changes should be written in the background");
+
+        List<Highscore> onDisk = Highscore.readFile(file);
+        assertEquals(1, onDisk.size(), "Same city should keep a single entry");
+        assertEquals(1000, onDisk.get(0).getScore());
+        assertEquals(1000, new Leaderboard(file, 50).getHighscores().get(0).getScore());
+        leaderboard.close();
+    }
+
+    @Test
+    void testSubmitReportsFailedWrite() throws Exception {
+        Path blocker = tempDir.resolve("not-a-dir");
+        Files.writeString(blocker, "file");
+        Leaderboard leaderboard = new Leaderboard(blocker.resolve("highscores.txt"), 60_000);
+        assertTrue(leaderboard.submit(new Highscore("First", 100, 10, 1000, 50, 5, ACHIEVED_AT)));
+
+        leaderboard.flush();
+        assertTrue(leaderboard.hasPendingWrites());
+        assertFalse(leaderboard.submit(new Highscore("Second", 200, 10, 1000, 50, 5, ACHIEVED_AT)));
+        assertEquals(2, leaderboard.getHighscores().size(), "Scores stay in memory");
+        leaderboard.close();
+    }
+}
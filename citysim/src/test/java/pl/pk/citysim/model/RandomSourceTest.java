@@ -0,0 +1,46 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the seeded random source and reproducible cities.
+ */
+public class RandomSourceTest {
+
+    @Test
+    void testStreamsAreReproducibleAndIndependent() {
+        RandomSource first = new RandomSource(123L);
+        RandomSource second = new RandomSource(123L);
+
+        long eventsDay5 = first.stream(RandomSource.Phase.EVENTS, 5).nextLong();
+        first.stream(RandomSource.Phase.EVENTS, 6).nextLong();
+        assertEquals(eventsDay5, first.stream(RandomSource.Phase.EVENTS, 5).nextLong(),
+                "Rewinding a phase stream to a round should repeat its draws");
+        assertEquals(eventsDay5, second.stream(RandomSource.Phase.EVENTS, 5).nextLong());
+        assertNotEquals(eventsDay5, second.stream(RandomSource.Phase.POPULATION, 5).nextLong());
+        assertNotEquals(first.workerStream(RandomSource.Phase.INCOME, 1, 0).nextLong(),
+                first.workerStream(RandomSource.Phase.INCOME, 1, 1).nextLong());
+    }
+
+    @Test
+    void testSameSeedReplaysCity() {
+        City first = new City("Replay", 40, 5000, 99L);
+        City second = new City("Replay", 40, 5000, 99L);
+        for (City city : new City[]{first, second}) {
+            city.addBuilding(ResidentialBuilding.class);
+            city.addBuilding(CommercialBuilding.class);
+        }
+
+        for (int day = 0; day < 30; day++) {
+            first.nextDay();
+            second.nextDay();
+            assertEquals(first.getFamilies(), second.getFamilies());
+            assertEquals(first.getBudget(), second.getBudget());
+            assertEquals(first.getSatisfaction(), second.getSatisfaction());
+            assertEquals(first.getEventLog(), second.getEventLog());
+        }
+        assertEquals(99L, first.getSeed());
+    }
+}
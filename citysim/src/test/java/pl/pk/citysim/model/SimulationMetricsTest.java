@@ -0,0 +1,78 @@
+package pl.pk.citysim.model;
+
+import org.junit.jupiter.api.Test;
+import pl.pk.citysim.service.CityService;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for tick timings, counters and their JMX view.
+ */
+public class SimulationMetricsTest {
+
+    @Test
+    void testPhaseStatsFromRecordedValues() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(SimulationMetrics.Phase.POPULATION, i * 1000L);
+        }
+
+        PhaseStats stats = metrics.getStats(SimulationMetrics.Phase.POPULATION);
+        assertEquals(100, stats.getCount());
+        assertEquals(1000, stats.getMinNanos());
+        assertEquals(100_000, stats.getMaxNanos());
+        assertEquals(50_500, stats.getAvgNanos(), 1e-9);
+        assertTrue(stats.getP50Nanos() >= 50_000 && stats.getP50Nanos() <= 50_000 * 1.25, "p50 " + stats.getP50Nanos());
+        assertTrue(stats.getP90Nanos() >= 90_000 && stats.getP90Nanos() <= 100_000, "p90 " + stats.getP90Nanos());
+        assertEquals(100_000, metrics.getStats(SimulationMetrics.Phase.POPULATION).getP99Nanos(), 100_000 * 0.25);
+
+        metrics.reset();
+        assertEquals(0, metrics.getStats(SimulationMetrics.Phase.POPULATION).getCount());
+    }
+
+    @Test
+    void testHistogramBucketsCoverValues() {
+        for (long value : new long[]{0, 1, 3, 4, 7, 8, 9, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int bucket = SimulationMetrics.PhaseTimer.bucketOf(value);
+            assertTrue(SimulationMetrics.PhaseTimer.bucketUpperBound(bucket) >= value, "bucket of " + value);
+            if (bucket > 0) {
+                assertTrue(SimulationMetrics.PhaseTimer.bucketUpperBound(bucket - 1) < value, "previous bucket of " + value);
+            }
+        }
+    }
+
+    @Test
+    void testCityTicksAreCountedAndPublished() throws Exception {
+        SimulationMetrics metrics = SimulationMetrics.getInstance();
+        assertTrue(SimulationMetrics.registerMBean());
+        long ticksBefore = metrics.getTicks();
+        long nextDayBefore = metrics.getNextDayTiming().getCount();
+        long buildsBefore = metrics.getBuildingsBuilt();
+
+        Properties props = new Properties();
+        props.setProperty("sandboxMode", "true");
+        props.setProperty("seed", "8");
+        CityService service = new CityService(new GameConfig(props));
+        service.buildBuildings(BuildingType.PARK, 2);
+        for (int i = 0; i < 5; i++) {
+            service.cityTick();
+        }
+
+        assertTrue(metrics.getTicks() - ticksBefore >= 5);
+        assertTrue(metrics.getNextDayTiming().getCount() - nextDayBefore >= 5);
+        assertTrue(metrics.getBuildingsBuilt() - buildsBefore >= 2);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SimulationMetrics.OBJECT_NAME);
+        assertTrue((Long) server.getAttribute(name, "Ticks") >= 5);
+        CompositeData timing = (CompositeData) server.getAttribute(name, "CityTickTiming");
+        assertTrue((Long) timing.get("count") >= 5);
+        assertTrue((Long) timing.get("maxNanos") >= (Long) timing.get("minNanos"));
+    }
+}
@@ -3,8 +3,16 @@ package pl.pk.citysim.ui;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import pl.pk.citysim.model.BuildingType;
+import pl.pk.citysim.model.EventKind;
+import pl.pk.citysim.model.EventLog;
+import pl.pk.citysim.model.EventSeverity;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -169,6 +177,90 @@ public class ConsoleFormatterTest {
         assertEquals(normalEvent, formattedNormal);
     }
 
+    @Test
+    void testWriteTableMatchesCreateTable() throws IOException {
+        String[] headers = {"Name", "Count"};
+        List<String[]> rows = List.of(new String[]{"Park", "3"}, new String[]{"Residential building", "12"});
+        StringBuilder out = new StringBuilder();
+        ConsoleFormatter.writeTable(out, headers, rows);
+        assertEquals(ConsoleFormatter.createTable(headers, rows), out.toString());
+
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("Day", "4");
+        data.put("Population", "20 families");
+        StringBuilder keyValues = new StringBuilder();
+        ConsoleFormatter.writeKeyValueTable(keyValues, "CITY", data);
+        assertEquals(ConsoleFormatter.createKeyValueTable("CITY", data), keyValues.toString());
+        assertTrue(keyValues.toString().endsWith("Day:        4\nPopulation: 20 families\n"));
+    }
+
+    @Test
+    void testStartTableUsesWidthHints() throws IOException {
+        StringBuilder out = new StringBuilder();
+        ConsoleFormatter.startTable(out, new String[]{"Id", "Name"}, new int[]{4, 6})
+                .row("1", "Alpha")
+                .row("2", "Beta")
+                .end();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(7, lines.length);
+        assertEquals("│ Id   │ Name   │", lines[1]);
+        assertEquals("│ 1    │ Alpha  │", lines[3]);
+        assertEquals("│ 2    │ Beta   │", lines[5]);
+    }
+
+    @Test
+    void testWriteTableStreamsLargeTables() throws IOException {
+        int rowCount = 200_000;
+        // Rows are produced on demand and the output is only counted, so nothing large is ever held
+        Iterable<String[]> rows = () -> new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            public String[] next() {
+                next++;
+                return new String[]{String.valueOf(next), "Family " + next};
+            }
+        };
+        LineCounter out = new LineCounter();
+        ConsoleFormatter.writeTable(out, new String[]{"#", "Family"}, rows);
+
+        // Top border, header, header separator, rows with separators between them, bottom border
+        assertEquals(3 + rowCount + (rowCount - 1) + 1, out.lines);
+        assertEquals("│ 200000 │ Family 200000 │".length(), out.longestLine);
+    }
+
+    @Test
+    void testFormatTaggedLogEntry() {
+        // The tag decides, whatever the text says
+        String text = "Day 3: Fireworks for the WARNING-free week";
+        assertEquals(text, ConsoleFormatter.formatLogEntry(text, EventSeverity.INFO));
+        assertEquals(text.toUpperCase(), ConsoleFormatter.formatLogEntry(text, EventSeverity.CRITICAL));
+        assertEquals(text, ConsoleFormatter.formatLogEntry(text, EventSeverity.POSITIVE));
+    }
+
+    @Test
+    void testTagsMatchKeywordColouring() {
+        EventLog log = new EventLog(EventKind.values().length);
+        for (EventKind kind : EventKind.values()) {
+            if (kind == EventKind.EXPENSES) {
+                log.add(kind, 1, new double[4 + BuildingType.COUNT], 4 + BuildingType.COUNT);
+            } else {
+                log.add(kind, 1, "", 1, 2, 3, 4);
+            }
+        }
+        for (int i = 0; i < log.retainedSize(); i++) {
+            String text = log.render(i);
+            assertEquals(ConsoleFormatter.formatLogEntry(text),
+                    ConsoleFormatter.formatLogEntry(text, log.getKind(i).getSeverity()), log.getKind(i).name());
+        }
+    }
+
     @Test
     void testColorsToggle() {
         // Test enabling colors
@@ -179,4 +271,35 @@ public class ConsoleFormatterTest {
         ConsoleFormatter.setColorsEnabled(false);
         assertFalse(ConsoleFormatter.areColorsEnabled());
     }
-}
\ No newline at end of file
+
+    private static final class LineCounter implements Appendable {
+        private int lines;
+        private int longestLine;
+        private int current;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            for (int i = 0; i < csq.length(); i++) {
+                append(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+            if (c == '\n') {
+                lines++;
+                longestLine = Math.max(longestLine, current);
+                current = 0;
+            } else {
+                current++;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pl.pk.citysim.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the buffered console writer used by ConsoleUi.
+ */
+public class ConsoleOutputTest {
+
+    // Counts the writes that reach the console
+    private static class CountingStream extends ByteArrayOutputStream {
+        int writes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            writes++;
+            super.write(b);
+        }
+    }
+
+    @Test
+    void testOutputIsWrittenOnceOnFlush() {
+        CountingStream stream = new CountingStream();
+        PrintWriter out = new PrintWriter(new ConsoleOutput(stream, StandardCharsets.UTF_8));
+        for (int i = 0; i < 200; i++) {
+            out.println("│ Line " + i + " │");
+        }
+        assertEquals(0, stream.writes);
+
+        out.flush();
+        assertEquals(1, stream.writes);
+        String text = stream.toString(StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("│ Line 0 │" + System.lineSeparator()));
+        assertTrue(text.endsWith("│ Line 199 │" + System.lineSeparator()));
+
+        out.flush();
+        assertEquals(1, stream.writes);
+    }
+
+    @Test
+    void testLongOutputIsWrittenInLargePieces() {
+        CountingStream stream = new CountingStream();
+        PrintWriter out = new PrintWriter(new ConsoleOutput(stream, StandardCharsets.UTF_8));
+        String line = "x".repeat(99);
+        int lines = ConsoleOutput.MAX_PENDING_CHARS / 100 * 3;
+        for (int i = 0; i < lines; i++) {
+            out.print(line);
+            out.print('\n');
+        }
+        out.close();
+
+        assertEquals(lines * 100, stream.size());
+        assertTrue(stream.writes >= 3 && stream.writes <= 4, "writes: " + stream.writes);
+    }
+}